@@ -0,0 +1,131 @@
+package com.student_work;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing benchmarks: single lines by shape, and whole synthetic files by size.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CsvParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LineState {
+        @Param({"plain", "quoted", "escaped"})
+        public String shape;
+
+        String line;
+
+        @Setup
+        public void setUp() {
+            switch (shape) {
+                case "plain":
+                    line = "1004,Gaming Keyboard,Electronics|Gaming|Accessories,79.99";
+                    break;
+                case "quoted":
+                    line = "1002,\"Apple iPhone 14, 128GB\",Smartphones|Electronics,999.99";
+                    break;
+                default:
+                    line = "1005,\"Sony 65\"\" OLED TV, Smart\",Electronics|Home Entertainment|TVs,1899.99";
+                    break;
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+        @Param({"10000", "100000", "1000000"})
+        public int rows;
+
+        Path file;
+
+        @Setup
+        public void setUp() throws IOException {
+            file = Files.createTempFile("products-" + rows, ".csv");
+            writeCatalog(file, rows, new Random(42));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Product parseLine(LineState state) {
+        return CsvParser.parseLine(state.line);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> parseCsv(FileState state) throws IOException {
+        return CsvParser.parseCsv(state.file.toString());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> parseCsvMapped(FileState state) throws IOException {
+        return CsvParser.parseCsvMapped(state.file.toString());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Product> parseCsvParallel(FileState state) throws IOException {
+        return CsvParser.parseCsvParallel(state.file.toString());
+    }
+
+    /**
+     * Writes a catalog mixing plain, quoted and escaped names, like amazon-product-data.csv.
+     */
+    static void writeCatalog(Path file, int rows, Random random) throws IOException {
+        String[] categories = {
+                "Electronics|Accessories", "Smartphones|Electronics", "Books|Classics",
+                "Electronics|Gaming|Accessories", "Electronics|Home Entertainment|TVs"
+        };
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= rows; i++) {
+                String name;
+                switch (i % 3) {
+                    case 0:
+                        name = "Wireless Mouse " + i;
+                        break;
+                    case 1:
+                        name = "\"Apple iPhone " + i + ", 128GB\"";
+                        break;
+                    default:
+                        name = "\"Sony " + i + "\"\" OLED TV, Smart\"";
+                        break;
+                }
+                writer.write(i + "," + name + "," + categories[random.nextInt(categories.length)] + ","
+                        + random.nextInt(5000) + "." + random.nextInt(10) + random.nextInt(10));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.student_work;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLRB tree vs B+-tree behind the ProductIndex interface: building by random inserts and
+ * point search, at 1M and 10M products. The 10M runs need a large heap (-Xmx8g).
+ * searchFrozen runs the same queries against the tree's frozen Eytzinger copy.
+ * Products share one name string so the heap holds the index rather than 10M names.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductIndexBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+    private static final String NAME = "Product";
+
+    @State(Scope.Benchmark)
+    public static class IndexState {
+        @Param({"llrb", "btree"})
+        public String index;
+
+        @Param({"1000000", "10000000"})
+        public int size;
+
+        Product[] products;
+        ProductIndex tree;
+        FrozenProductIndex frozen;
+        int[] queries;
+        int next;
+
+        @Setup
+        public void setUp() {
+            products = new Product[size];
+            for (int i = 0; i < size; i++) {
+                products[i] = new Product(i, NAME, "Electronics|Accessories", i);
+            }
+            RedBlackTreeBenchmark.shuffle(products, new Random(42));
+
+            tree = newIndex(index);
+            for (Product product : products) {
+                tree.insert(product);
+            }
+            frozen = tree.freeze();
+
+            Random random = new Random(7);
+            queries = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = random.nextInt(size);
+            }
+        }
+
+        int nextQuery() {
+            return queries[next++ & (QUERIES - 1)];
+        }
+    }
+
+    static ProductIndex newIndex(String index) {
+        return index.equals("btree") ? new BPlusTree() : new RedBlackTree();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public ProductIndex insert(IndexState state) {
+        ProductIndex tree = newIndex(state.index);
+        for (Product product : state.products) {
+            tree.insert(product);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Product search(IndexState state) {
+        return state.tree.search(state.nextQuery());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Product searchFrozen(IndexState state) {
+        return state.frozen.search(state.nextQuery());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 3)
+    public FrozenProductIndex freeze(IndexState state) {
+        return state.tree.freeze();
+    }
+}
@@ -0,0 +1,174 @@
+package com.student_work;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree benchmarks: building by repeated insert (sorted vs random ids), point search
+ * (hit vs miss, tree walk vs hash index) and batch search (one search per id vs searchAll vs searchAllParallel).
+ * Trees hold the even ids 0, 2, 4, ..., so odd ids are guaranteed misses.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RedBlackTreeBenchmark {
+
+    private static final int QUERIES = 1 << 16;
+
+    @State(Scope.Benchmark)
+    public static class InsertState {
+        @Param({"100000", "1000000"})
+        public int size;
+
+        @Param({"sorted", "random"})
+        public String order;
+
+        Product[] products;
+
+        @Setup
+        public void setUp() {
+            products = new Product[size];
+            for (int i = 0; i < size; i++) {
+                products[i] = new Product(i * 2, "Product " + i, "Electronics|Accessories", i);
+            }
+            if (order.equals("random")) {
+                shuffle(products, new Random(42));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchState {
+        @Param({"100000", "1000000"})
+        public int size;
+
+        @Param({"hit", "miss"})
+        public String outcome;
+
+        @Param({"false", "true"})
+        public boolean hashIndex;
+
+        RedBlackTree tree;
+        int[] queries;
+        int next;
+
+        @Setup
+        public void setUp() {
+            Product[] products = new Product[size];
+            for (int i = 0; i < size; i++) {
+                products[i] = new Product(i * 2, "Product " + i, "Electronics|Accessories", i);
+            }
+            shuffle(products, new Random(42));
+            tree = new RedBlackTree();
+            for (Product product : products) {
+                tree.insert(product);
+            }
+            if (hashIndex) {
+                tree.enableHashIndex();
+            }
+
+            Random random = new Random(7);
+            queries = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                int id = random.nextInt(size) * 2;
+                queries[i] = outcome.equals("hit") ? id : id + 1;
+            }
+        }
+
+        int nextQuery() {
+            return queries[next++ & (QUERIES - 1)];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class BatchState {
+        @Param({"1000000"})
+        public int size;
+
+        @Param({"100", "1000", "100000"})
+        public int batch;
+
+        RedBlackTree tree;
+        int[] ids;
+
+        @Setup
+        public void setUp() {
+            Product[] products = new Product[size];
+            for (int i = 0; i < size; i++) {
+                products[i] = new Product(i * 2, "Product " + i, "Electronics|Accessories", i);
+            }
+            tree = RedBlackTree.fromSorted(Arrays.asList(products));
+
+            Random random = new Random(7);
+            ids = new int[batch];
+            for (int i = 0; i < batch; i++) {
+                ids[i] = random.nextInt(size * 2);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RedBlackTree insert(InsertState state) {
+        RedBlackTree tree = new RedBlackTree();
+        for (Product product : state.products) {
+            tree.insert(product);
+        }
+        return tree;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Product search(SearchState state) {
+        return state.tree.search(state.nextQuery());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Product[] batchSearchEach(BatchState state) {
+        Product[] results = new Product[state.ids.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = state.tree.search(state.ids[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Product[] batchSearchAll(BatchState state) {
+        return state.tree.searchAll(state.ids);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Product[] batchSearchAllParallel(BatchState state) {
+        return state.tree.searchAllParallel(state.ids);
+    }
+
+    static void shuffle(Object[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.student_work;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Left-leaning red-black tree with pointer-free node storage.
+ * Node i lives at index i of parallel primitive arrays (keys, left, right) with its color in a
+ * BitSet, and its product in a separate array, so a search walks dense int arrays instead of
+ * chasing one heap object per level. Same public API as RedBlackTree.
+ *
+ * When built over an OffHeapProductStore, products are written off-heap and each node holds
+ * only the record address; a Product is materialized lazily on a search hit.
+ */
+public class ArrayRedBlackTree {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private final BitSet red = new BitSet();
+    private Product[] products;
+    private long[] addresses;
+    private final OffHeapProductStore store;
+
+    private int root = NIL;
+    private int size;
+
+    // Reused root-to-leaf path for iterative insert
+    private int[] path = new int[64];
+
+
+    public ArrayRedBlackTree() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public ArrayRedBlackTree(int initialCapacity) {
+        this(initialCapacity, null);
+    }
+
+    public ArrayRedBlackTree(OffHeapProductStore store) {
+        this(INITIAL_CAPACITY, store);
+    }
+
+    private ArrayRedBlackTree(int initialCapacity, OffHeapProductStore store) {
+        int capacity = Math.max(1, initialCapacity);
+        this.store = store;
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        if (store == null) {
+            products = new Product[capacity];
+        } else {
+            addresses = new long[capacity];
+        }
+    }
+
+    // ==================== VALIDATION FUNCTIONS ====================
+
+    private boolean isRed(int node) {
+        return node != NIL && red.get(node);
+    }
+
+    private boolean isBlack(int node) {
+        return !isRed(node);
+    }
+
+    private void setColor(int node, boolean color) {
+        red.set(node, color);
+    }
+
+    // ==================== ROTATION OPERATIONS ====================
+
+    private int rotateLeft(int h) {
+        int x = right[h];
+        right[h] = left[x];
+        left[x] = h;
+        setColor(x, red.get(h));
+        setColor(h, RED);
+        return x;
+    }
+
+    private int rotateRight(int h) {
+        int x = left[h];
+        left[h] = right[x];
+        right[x] = h;
+        setColor(x, red.get(h));
+        setColor(h, RED);
+        return x;
+    }
+
+    private void flipColors(int h) {
+        red.flip(h);
+        red.flip(left[h]);
+        red.flip(right[h]);
+    }
+
+    // ==================== INSERTION ====================
+
+    public void insert(Product product) {
+        int id = product.getId();
+        int depth = 0;
+        int h = root;
+        while (h != NIL) {
+            if (id == keys[h]) {
+                setProduct(h, product);
+                return;
+            }
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[depth++] = h;
+            h = id < keys[h] ? left[h] : right[h];
+        }
+
+        int child = allocate(product);
+        for (int i = depth - 1; i >= 0; i--) {
+            int parent = path[i];
+            if (id < keys[parent]) {
+                left[parent] = child;
+            } else {
+                right[parent] = child;
+            }
+            child = fixUp(parent);
+        }
+        root = child;
+        setColor(root, BLACK);
+    }
+
+    private int allocate(Product product) {
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            if (store == null) {
+                products = Arrays.copyOf(products, capacity);
+            } else {
+                addresses = Arrays.copyOf(addresses, capacity);
+            }
+        }
+        int node = size++;
+        keys[node] = product.getId();
+        left[node] = NIL;
+        right[node] = NIL;
+        setProduct(node, product);
+        setColor(node, RED);
+        return node;
+    }
+
+    private void setProduct(int node, Product product) {
+        if (store == null) {
+            products[node] = product;
+        } else {
+            // Replaced records stay in the append-only store until it is rebuilt
+            addresses[node] = store.add(product);
+        }
+    }
+
+    private Product product(int node) {
+        return store == null ? products[node] : store.read(addresses[node]);
+    }
+
+    private int fixUp(int h) {
+        if (isRed(right[h]) && !isRed(left[h])) {
+            h = rotateLeft(h);
+        }
+        if (isRed(left[h]) && isRed(left[left[h]])) {
+            h = rotateRight(h);
+        }
+        if (isRed(left[h]) && isRed(right[h])) {
+            flipColors(h);
+        }
+        return h;
+    }
+
+    // ==================== SEARCH ====================
+
+    public Product search(int productId) {
+        int h = root;
+        while (h != NIL) {
+            int key = keys[h];
+            if (productId < key) {
+                h = left[h];
+            } else if (productId > key) {
+                h = right[h];
+            } else {
+                return product(h);
+            }
+        }
+        return null;
+    }
+
+    // ==================== VALIDATION ====================
+
+    public boolean validate() {
+        if (root == NIL) {
+            return true;
+        }
+        boolean valid = true;
+        if (isRed(root)) {
+            System.out.println("Root is not black");
+            valid = false;
+        }
+        if (!validateNoRightRed(root)) {
+            valid = false;
+        }
+        if (!validateNoConsecutiveReds(root)) {
+            valid = false;
+        }
+        if (validateBlackHeight(root) < 0) {
+            System.out.println("Black balance violated");
+            valid = false;
+        }
+        return valid;
+    }
+
+    private boolean validateNoRightRed(int h) {
+        if (h == NIL) {
+            return true;
+        }
+        if (isRed(right[h])) {
+            System.out.println("Right-leaning red link at product " + keys[h]);
+            return false;
+        }
+        return validateNoRightRed(left[h]) && validateNoRightRed(right[h]);
+    }
+
+    private boolean validateNoConsecutiveReds(int h) {
+        if (h == NIL) {
+            return true;
+        }
+        if (isRed(h) && (isRed(left[h]) || isRed(right[h]))) {
+            System.out.println("Two consecutive red links at product " + keys[h]);
+            return false;
+        }
+        return validateNoConsecutiveReds(left[h]) && validateNoConsecutiveReds(right[h]);
+    }
+
+    private int validateBlackHeight(int h) {
+        if (h == NIL) {
+            return 0;
+        }
+        int leftHeight = validateBlackHeight(left[h]);
+        int rightHeight = validateBlackHeight(right[h]);
+        if (leftHeight < 0 || rightHeight < 0 || leftHeight != rightHeight) {
+            return -1;
+        }
+        return leftHeight + (isBlack(h) ? 1 : 0);
+    }
+
+    public boolean is23() {
+        return is23(root);
+    }
+
+    private boolean is23(int h) {
+        if (h == NIL) {
+            return true;
+        }
+        if (isRed(right[h])) {
+            return false;
+        }
+        if (h != root && isRed(h) && isRed(left[h])) {
+            return false;
+        }
+        return is23(left[h]) && is23(right[h]);
+    }
+
+    // ==================== UTILITY FUNCTIONS ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    private int height(int node) {
+        if (node == NIL) {
+            return 0;
+        }
+        return 1 + Math.max(height(left[node]), height(right[node]));
+    }
+
+    public int countRedLinks() {
+        // Every allocated node is in the tree, so the red bits are exactly the red links
+        return red.cardinality();
+    }
+
+    public void printTree() {
+        if (root == NIL) {
+            System.out.println("(empty tree)");
+            return;
+        }
+        printTreeHelper(root, "", true);
+    }
+
+    private void printTreeHelper(int node, String prefix, boolean isTail) {
+        System.out.println(prefix + (isTail ? "`-- " : "|-- ") + keys[node]
+                + (isRed(node) ? " (RED)" : " (BLACK)"));
+        String childPrefix = prefix + (isTail ? "    " : "|   ");
+        if (right[node] != NIL) {
+            printTreeHelper(right[node], childPrefix, left[node] == NIL);
+        }
+        if (left[node] != NIL) {
+            printTreeHelper(left[node], childPrefix, true);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.student_work;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * B+-tree over product ids with wide nodes: up to 64 int keys per node, stored contiguously so
+ * a node is searched with one linear, branch-free scan over a few cache lines. Products live
+ * only in the leaves, which are chained left to right for in-order iteration.
+ * At 1M products the tree is 4 levels deep, against roughly 20-40 for a binary tree.
+ *
+ * Deletes remove the key from its leaf without merging underfull nodes, as many databases do;
+ * the tree stays correct and the height never grows from deletes.
+ */
+public class BPlusTree implements ProductIndex {
+    static final int MAX_KEYS = 64;
+
+    private Node root = new Leaf();
+    private Leaf first = (Leaf) root;
+    private int size;
+    private int height = 1;
+
+    // Separator handed up by the last split: the smallest key of the new right sibling
+    private int splitKey;
+
+    private abstract static class Node {
+        final int[] keys = new int[MAX_KEYS];
+        int count;
+
+        // Number of keys <= productId. The loop has no early exit, so the JIT compiles the
+        // comparison to a flag-set and add instead of a hard-to-predict branch
+        int countAtMost(int productId) {
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                n += keys[i] <= productId ? 1 : 0;
+            }
+            return n;
+        }
+    }
+
+    private static final class Leaf extends Node {
+        final Product[] products = new Product[MAX_KEYS];
+        Leaf next;
+    }
+
+    private static final class Inner extends Node {
+        // children[i] holds ids in [keys[i - 1], keys[i]); keys[i] is the smallest id under children[i + 1]
+        final Node[] children = new Node[MAX_KEYS + 1];
+    }
+
+
+    public BPlusTree() {
+    }
+
+    // ==================== BULK LOADING ====================
+
+    /**
+     * Builds a tree in O(n) from products already sorted by strictly increasing id, packing
+     * every node full except possibly the last on each level.
+     */
+    public static BPlusTree fromSorted(List<Product> products) {
+        for (int i = 1; i < products.size(); i++) {
+            if (products.get(i - 1).getId() >= products.get(i).getId()) {
+                throw new IllegalArgumentException(
+                        "Products must be sorted by strictly increasing id at index " + i);
+            }
+        }
+
+        BPlusTree tree = new BPlusTree();
+        int n = products.size();
+        if (n == 0) {
+            return tree;
+        }
+
+        Node[] level = new Node[(n + MAX_KEYS - 1) / MAX_KEYS];
+        int[] lowest = new int[level.length];
+        Leaf previous = null;
+        for (int l = 0; l < level.length; l++) {
+            Leaf leaf = new Leaf();
+            int from = l * MAX_KEYS;
+            leaf.count = Math.min(MAX_KEYS, n - from);
+            for (int i = 0; i < leaf.count; i++) {
+                Product product = products.get(from + i);
+                leaf.keys[i] = product.getId();
+                leaf.products[i] = product;
+            }
+            if (previous == null) {
+                tree.first = leaf;
+            } else {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[l] = leaf;
+            lowest[l] = leaf.keys[0];
+        }
+
+        int height = 1;
+        while (level.length > 1) {
+            int fanOut = MAX_KEYS + 1;
+            Node[] parents = new Node[(level.length + fanOut - 1) / fanOut];
+            int[] parentLowest = new int[parents.length];
+            for (int p = 0; p < parents.length; p++) {
+                Inner inner = new Inner();
+                int from = p * fanOut;
+                int children = Math.min(fanOut, level.length - from);
+                for (int c = 0; c < children; c++) {
+                    inner.children[c] = level[from + c];
+                    if (c > 0) {
+                        inner.keys[c - 1] = lowest[from + c];
+                    }
+                }
+                inner.count = children - 1;
+                parents[p] = inner;
+                parentLowest[p] = lowest[from];
+            }
+            level = parents;
+            lowest = parentLowest;
+            height++;
+        }
+
+        tree.root = level[0];
+        tree.size = n;
+        tree.height = height;
+        return tree;
+    }
+
+    /**
+     * Rebuilds a tree from a snapshot written by writeSnapshot, without any text parsing.
+     */
+    public static BPlusTree loadSnapshot(Path path) throws IOException {
+        return ProductSnapshot.read(path, BPlusTree::fromSorted);
+    }
+
+    // ==================== INSERTION ====================
+
+    @Override
+    public void insert(Product product) {
+        upsert(product);
+    }
+
+    @Override
+    public Product upsert(Product product) {
+        Product[] replaced = new Product[1];
+        Node sibling = insert(root, product, replaced);
+        if (sibling != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.keys[0] = splitKey;
+            newRoot.count = 1;
+            root = newRoot;
+            height++;
+        }
+        if (replaced[0] == null) {
+            size++;
+        }
+        return replaced[0];
+    }
+
+    // Returns the new right sibling if node split, with its separator in splitKey
+    private Node insert(Node node, Product product, Product[] replaced) {
+        int productId = product.getId();
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int at = leaf.countAtMost(productId);
+            if (at > 0 && leaf.keys[at - 1] == productId) {
+                replaced[0] = leaf.products[at - 1];
+                leaf.products[at - 1] = product;
+                return null;
+            }
+            if (leaf.count < MAX_KEYS) {
+                insertIntoLeaf(leaf, at, product);
+                return null;
+            }
+            Leaf right = splitLeaf(leaf);
+            if (at <= leaf.count) {
+                insertIntoLeaf(leaf, at, product);
+            } else {
+                insertIntoLeaf(right, at - leaf.count, product);
+            }
+            splitKey = right.keys[0];
+            return right;
+        }
+
+        Inner inner = (Inner) node;
+        int child = inner.countAtMost(productId);
+        Node sibling = insert(inner.children[child], product, replaced);
+        if (sibling == null) {
+            return null;
+        }
+        int separator = splitKey;
+        if (inner.count < MAX_KEYS) {
+            insertIntoInner(inner, child, separator, sibling);
+            return null;
+        }
+
+        Inner right = splitInner(inner);
+        int promoted = splitKey;
+        if (child <= inner.count) {
+            insertIntoInner(inner, child, separator, sibling);
+        } else {
+            insertIntoInner(right, child - inner.count - 1, separator, sibling);
+        }
+        splitKey = promoted;
+        return right;
+    }
+
+    private static void insertIntoLeaf(Leaf leaf, int at, Product product) {
+        System.arraycopy(leaf.keys, at, leaf.keys, at + 1, leaf.count - at);
+        System.arraycopy(leaf.products, at, leaf.products, at + 1, leaf.count - at);
+        leaf.keys[at] = product.getId();
+        leaf.products[at] = product;
+        leaf.count++;
+    }
+
+    // Inserts separator after keys[child - 1] and sibling right after children[child]
+    private static void insertIntoInner(Inner inner, int child, int separator, Node sibling) {
+        System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.count - child);
+        System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.count - child);
+        inner.keys[child] = separator;
+        inner.children[child + 1] = sibling;
+        inner.count++;
+    }
+
+    private static Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int keep = leaf.count / 2;
+        right.count = leaf.count - keep;
+        System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+        System.arraycopy(leaf.products, keep, right.products, 0, right.count);
+        Arrays.fill(leaf.products, keep, leaf.count, null);
+        leaf.count = keep;
+        right.next = leaf.next;
+        leaf.next = right;
+        return right;
+    }
+
+    // Moves the upper half to a new node; the middle key moves up through splitKey
+    private Inner splitInner(Inner inner) {
+        Inner right = new Inner();
+        int keep = inner.count / 2;
+        splitKey = inner.keys[keep];
+        right.count = inner.count - keep - 1;
+        System.arraycopy(inner.keys, keep + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, keep + 1, right.children, 0, right.count + 1);
+        Arrays.fill(inner.children, keep + 1, inner.count + 1, null);
+        inner.count = keep;
+        return right;
+    }
+
+    // ==================== DELETION ====================
+
+    @Override
+    public Product delete(int productId) {
+        Leaf leaf = findLeaf(productId);
+        int at = leaf.countAtMost(productId) - 1;
+        if (at < 0 || leaf.keys[at] != productId) {
+            return null;
+        }
+        Product removed = leaf.products[at];
+        System.arraycopy(leaf.keys, at + 1, leaf.keys, at, leaf.count - at - 1);
+        System.arraycopy(leaf.products, at + 1, leaf.products, at, leaf.count - at - 1);
+        leaf.products[--leaf.count] = null;
+        size--;
+        return removed;
+    }
+
+    // ==================== SEARCH ====================
+
+    @Override
+    public Product search(int productId) {
+        Leaf leaf = findLeaf(productId);
+        int at = leaf.countAtMost(productId) - 1;
+        return at >= 0 && leaf.keys[at] == productId ? leaf.products[at] : null;
+    }
+
+    private Leaf findLeaf(int productId) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.countAtMost(productId)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * In-order iterator along the leaf chain. The tree must not be modified while iterating.
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        return new Iterator<>() {
+            private Leaf leaf = first;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                while (leaf != null && index >= leaf.count) {
+                    leaf = leaf.next;
+                    index = 0;
+                }
+                return leaf != null;
+            }
+
+            @Override
+            public Product next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return leaf.products[index++];
+            }
+        };
+    }
+
+    // ==================== UTILITY FUNCTIONS ====================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+}
@@ -0,0 +1,137 @@
+package com.student_work;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global dictionary of category names.
+ * Each distinct category gets a small int id, and each distinct pipe-joined category field
+ * resolves to one shared id array, so products repeating the same categories share storage.
+ * Safe for concurrent use by the parallel CSV loader.
+ */
+public final class CategoryDictionary {
+
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, int[]> PATHS = new ConcurrentHashMap<>();
+    // The same shared arrays keyed by content, so canonical() needs no string round trip
+    private static final ConcurrentHashMap<IdPath, int[]> CANONICAL = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+
+    // Written under LOCK before the id is published through IDS
+    private static volatile String[] names = new String[64];
+    private static int count;
+
+    private CategoryDictionary() {
+    }
+
+    /**
+     * Returns the id for a category name, assigning the next free id on first sight.
+     */
+    public static int intern(String name) {
+        Integer id = IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (LOCK) {
+            id = IDS.get(name);
+            if (id != null) {
+                return id;
+            }
+            String[] table = names;
+            if (count == table.length) {
+                table = Arrays.copyOf(table, table.length * 2);
+            }
+            table[count] = name;
+            names = table;
+            IDS.put(name, count);
+            return count++;
+        }
+    }
+
+    /**
+     * Returns the id for a category name, or -1 if it has never been interned.
+     */
+    public static int lookup(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    public static String name(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IllegalArgumentException("Unknown category id: " + id);
+        }
+        return names[id];
+    }
+
+    public static int size() {
+        return IDS.size();
+    }
+
+    /**
+     * Resolves a pipe-separated category field to its shared id array.
+     * The array is canonical and shared between products, so callers must not modify it.
+     */
+    static int[] internAll(String category) {
+        int[] ids = PATHS.get(category);
+        if (ids != null) {
+            return ids;
+        }
+        String[] parts = category.split("\\|", -1);
+        ids = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ids[i] = intern(parts[i]);
+        }
+        int[] existing = PATHS.putIfAbsent(category, ids);
+        if (existing != null) {
+            return existing;
+        }
+        CANONICAL.putIfAbsent(new IdPath(ids), ids);
+        return ids;
+    }
+
+    /**
+     * Returns the shared id array equal to ids, for products rebuilt outside the CSV parser.
+     * Only a path that has never been interned goes through its joined string.
+     */
+    static int[] canonical(int[] ids) {
+        int[] existing = CANONICAL.get(new IdPath(ids));
+        return existing != null ? existing : internAll(join(ids));
+    }
+
+    /**
+     * Rebuilds the pipe-joined category string for an id array.
+     */
+    static String join(int[] ids) {
+        if (ids.length == 1) {
+            return name(ids[0]);
+        }
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                joined.append('|');
+            }
+            joined.append(name(ids[i]));
+        }
+        return joined.toString();
+    }
+
+    private static final class IdPath {
+        private final int[] ids;
+        private final int hash;
+
+        IdPath(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdPath && Arrays.equals(ids, ((IdPath) other).ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.student_work;
+
+import java.util.Arrays;
+
+/**
+ * Inverted index from category to the ids of the products in it.
+ * Each category id from CategoryDictionary owns a posting list: a sorted int array of product
+ * ids. AND queries intersect the lists, starting from the shortest, and OR queries merge them,
+ * so neither ever touches a category string or a tree node.
+ *
+ * Appending ids in increasing order (as a bulk load from the tree or a snapshot does) keeps a
+ * list sorted for free; out-of-order appends are sorted lazily before the next query.
+ */
+public class CategoryIndex {
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_POSTINGS = 4;
+
+    private int[][] postings = new int[16][];
+    private int[] sizes = new int[16];
+    private boolean[] unsorted = new boolean[16];
+
+    public CategoryIndex() {
+    }
+
+    /**
+     * Builds the index over products, e.g. a RedBlackTree iterated in id order.
+     */
+    public static CategoryIndex of(Iterable<Product> products) {
+        CategoryIndex index = new CategoryIndex();
+        for (Product product : products) {
+            index.add(product);
+        }
+        return index;
+    }
+
+    // ==================== UPDATES ====================
+
+    public void add(Product product) {
+        int productId = product.getId();
+        for (int category : product.categoryIds()) {
+            ensureCategory(category);
+            int size = sizes[category];
+            int[] list = postings[category];
+            if (size > 0 && list[size - 1] >= productId) {
+                if (list[size - 1] == productId) {
+                    continue;      // Same category listed twice in one path
+                }
+                unsorted[category] = true;
+            }
+            if (list == null) {
+                list = postings[category] = new int[INITIAL_POSTINGS];
+            } else if (size == list.length) {
+                list = postings[category] = Arrays.copyOf(list, size * 2);
+            }
+            list[size] = productId;
+            sizes[category] = size + 1;
+        }
+    }
+
+    /**
+     * Removes a product from the lists of its categories. Pass the product as it was indexed,
+     * i.e. the one replaced by an upsert or returned by a delete.
+     */
+    public void remove(Product product) {
+        int productId = product.getId();
+        for (int category : product.categoryIds()) {
+            if (category >= sizes.length || sizes[category] == 0) {
+                continue;
+            }
+            int[] list = sortedPostings(category);
+            int size = sizes[category];
+            int at = Arrays.binarySearch(list, 0, size, productId);
+            if (at >= 0) {
+                System.arraycopy(list, at + 1, list, at, size - at - 1);
+                sizes[category] = size - 1;
+            }
+        }
+    }
+
+    private void ensureCategory(int category) {
+        if (category >= sizes.length) {
+            int capacity = Math.max(sizes.length * 2, category + 1);
+            postings = Arrays.copyOf(postings, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            unsorted = Arrays.copyOf(unsorted, capacity);
+        }
+    }
+
+    private int[] sortedPostings(int category) {
+        int[] list = postings[category];
+        if (unsorted[category]) {
+            int size = sizes[category];
+            Arrays.sort(list, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || list[i] != list[distinct - 1]) {
+                    list[distinct++] = list[i];
+                }
+            }
+            sizes[category] = distinct;
+            unsorted[category] = false;
+        }
+        return list;
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Sorted ids of the products in a category; empty for an unknown category.
+     */
+    public int[] productIds(String category) {
+        int id = CategoryDictionary.lookup(category);
+        if (id < 0 || id >= sizes.length || sizes[id] == 0) {
+            return EMPTY;
+        }
+        return Arrays.copyOf(sortedPostings(id), sizes[id]);
+    }
+
+    public int count(String category) {
+        return productIds(category).length;
+    }
+
+    /**
+     * Sorted ids of the products in every one of the categories (AND).
+     */
+    public int[] all(String... categories) {
+        if (categories.length == 0) {
+            return EMPTY;
+        }
+        int[] ids = new int[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            ids[i] = CategoryDictionary.lookup(categories[i]);
+            if (ids[i] < 0 || ids[i] >= sizes.length || sizes[ids[i]] == 0) {
+                return EMPTY;
+            }
+            sortedPostings(ids[i]);
+        }
+
+        // Intersect from the shortest list so every step shrinks the candidate set fastest
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ids[i];
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(sizes[a], sizes[b]));
+
+        int[] result = Arrays.copyOf(postings[order[0]], sizes[order[0]]);
+        int length = result.length;
+        for (int i = 1; i < order.length && length > 0; i++) {
+            length = intersect(result, length, postings[order[i]], sizes[order[i]]);
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * Sorted ids of the products in at least one of the categories (OR).
+     */
+    public int[] any(String... categories) {
+        int[] result = EMPTY;
+        int length = 0;
+        for (String category : categories) {
+            int id = CategoryDictionary.lookup(category);
+            if (id < 0 || id >= sizes.length || sizes[id] == 0) {
+                continue;
+            }
+            int[] list = sortedPostings(id);
+            int[] merged = new int[length + sizes[id]];
+            length = union(result, length, list, sizes[id], merged);
+            result = merged;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * Keeps the ids of candidates[0, length) that also occur in list, in place, and returns the
+     * new length. A short candidate set gallops through a long list instead of scanning it.
+     */
+    private static int intersect(int[] candidates, int length, int[] list, int size) {
+        int kept = 0;
+        int from = 0;
+        boolean gallop = (long) length * 32 < size;
+        for (int i = 0; i < length && from < size; i++) {
+            int id = candidates[i];
+            if (gallop) {
+                int step = 1;
+                int hi = from;
+                while (hi < size && list[hi] < id) {
+                    from = hi + 1;
+                    hi += step;
+                    step <<= 1;
+                }
+                int at = Arrays.binarySearch(list, from, Math.min(hi + 1, size), id);
+                if (at >= 0) {
+                    candidates[kept++] = id;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            } else {
+                while (from < size && list[from] < id) {
+                    from++;
+                }
+                if (from < size && list[from] == id) {
+                    candidates[kept++] = id;
+                    from++;
+                }
+            }
+        }
+        return kept;
+    }
+
+    private static int union(int[] a, int aSize, int[] b, int bSize, int[] out) {
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < aSize) {
+            out[n++] = a[i++];
+        }
+        while (j < bSize) {
+            out[n++] = b[j++];
+        }
+        return n;
+    }
+}
@@ -0,0 +1,247 @@
+package com.student_work;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log of catalog changes made since the last snapshot.
+ *
+ * The file starts with a magic/version header, followed by records of the form
+ * payload length (int), CRC32 of the payload (int), payload. A payload is an opcode byte and
+ * the product id, plus for PUT the price, name and pipe-joined category (length-prefixed UTF-8).
+ * Categories are stored by name because dictionary ids are only stable within one process.
+ *
+ * Appends are buffered and fsynced in batches of syncEvery records, so a crash can lose at most
+ * the last unsynced batch; call sync() to make everything appended so far durable. A torn record
+ * at the tail (from a crash mid-write) ends replay and is truncated when the log is reopened.
+ */
+public final class ChangeLog implements Closeable {
+
+    static final int MAGIC = 0x504C4F47;     // "PLOG"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int DEFAULT_SYNC_EVERY = 64;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final FileChannel channel;
+    private final int syncEvery;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOut = new DataOutputStream(pending);
+    private final ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+    private final DataOutputStream payload = new DataOutputStream(payloadBytes);
+    private final CRC32 crc = new CRC32();
+    private int unsynced;
+
+    private ChangeLog(FileChannel channel, int syncEvery) {
+        this.channel = channel;
+        this.syncEvery = syncEvery;
+    }
+
+    public static ChangeLog open(Path path) throws IOException {
+        return open(path, DEFAULT_SYNC_EVERY);
+    }
+
+    /**
+     * Opens the log for appending, creating it if needed and dropping any torn tail record.
+     */
+    public static ChangeLog open(Path path, int syncEvery) throws IOException {
+        if (syncEvery < 1) {
+            throw new IllegalArgumentException("Sync batch must be positive: " + syncEvery);
+        }
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long end;
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                channel.force(true);
+                end = HEADER_BYTES;
+            } else {
+                end = scan(channel, path, null);
+                channel.truncate(end);
+            }
+            channel.position(end);
+            return new ChangeLog(channel, syncEvery);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ==================== APPENDING ====================
+
+    /**
+     * Records an insert or update of a product.
+     */
+    public void put(Product product) throws IOException {
+        payloadBytes.reset();
+        payload.writeByte(PUT);
+        payload.writeInt(product.getId());
+        payload.writeDouble(product.getPrice());
+        writeString(product.getName());
+        writeString(product.getCategory());
+        append();
+    }
+
+    /**
+     * Records the removal of a product id.
+     */
+    public void delete(int productId) throws IOException {
+        payloadBytes.reset();
+        payload.writeByte(DELETE);
+        payload.writeInt(productId);
+        append();
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        payload.writeInt(bytes.length);
+        payload.write(bytes);
+    }
+
+    private void append() throws IOException {
+        byte[] bytes = payloadBytes.toByteArray();
+        crc.reset();
+        crc.update(bytes);
+
+        pendingOut.writeInt(bytes.length);
+        pendingOut.writeInt((int) crc.getValue());
+        pendingOut.write(bytes);
+
+        if (++unsynced >= syncEvery) {
+            sync();
+        }
+    }
+
+    /**
+     * Writes all buffered records and forces them to disk.
+     */
+    public void sync() throws IOException {
+        if (pending.size() > 0) {
+            ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            pending.reset();
+        }
+        if (unsynced > 0) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    /**
+     * Discards every record, after a snapshot has captured them.
+     */
+    public void truncate() throws IOException {
+        pending.reset();
+        unsynced = 0;
+        channel.truncate(HEADER_BYTES);
+        channel.position(HEADER_BYTES);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ==================== REPLAY ====================
+
+    /**
+     * Applies every intact record in the log to the index, in order, and returns how many were
+     * applied. A missing log applies nothing. Replay is idempotent, so a log that was already
+     * captured by the snapshot can safely be replayed over it again.
+     */
+    public static int replay(Path path, ProductIndex index) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int[] applied = new int[1];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scan(channel, path, record -> {
+                byte op = record.get();
+                int id = record.getInt();
+                if (op == PUT) {
+                    double price = record.getDouble();
+                    String name = readString(record);
+                    String category = readString(record);
+                    index.upsert(new Product(id, name, category, price));
+                } else {
+                    index.delete(id);
+                }
+                applied[0]++;
+            });
+        }
+        return applied[0];
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Walks the records after the header, handing each intact payload to the visitor, and returns
+     * the offset just past the last intact record.
+     */
+    private static long scan(FileChannel channel, Path path, Consumer<ByteBuffer> visitor) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Change log too large: " + size + " bytes");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a change log: " + path);
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException("Unsupported change log version: " + version);
+        }
+
+        CRC32 crc = new CRC32();
+        int position = HEADER_BYTES;
+        while (size - position >= RECORD_HEADER_BYTES) {
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + Integer.BYTES);
+            int start = position + RECORD_HEADER_BYTES;
+            if (length < 1 || length > size - start) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(start, length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            if (visitor != null) {
+                visitor.accept(record);
+            }
+            position = start + length;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,237 @@
+package com.student_work;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Left-leaning red-black tree with lock-free readers.
+ * Nodes are immutable: an insert copies only the nodes on its root-to-leaf path (plus the few
+ * siblings a rotation or color flip touches) and publishes the new root with a single volatile
+ * write. Readers take the current root once and never block, so every search and iteration sees
+ * one consistent snapshot. Writers are serialized on this tree's monitor.
+ */
+public class ConcurrentRedBlackTree implements Iterable<Product> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private volatile Node root;
+
+    private static final class Node {
+        final int productId;
+        final Product product;
+        final Node left, right;
+        final boolean color;
+        final int count;
+
+        Node(Product product, Node left, Node right, boolean color) {
+            this.productId = product.getId();
+            this.product = product;
+            this.left = left;
+            this.right = right;
+            this.color = color;
+            this.count = 1 + size(left) + size(right);
+        }
+    }
+
+
+    public ConcurrentRedBlackTree() {
+        this.root = null;
+    }
+
+    // ==================== VALIDATION FUNCTIONS ====================
+
+    private static boolean isRed(Node node) {
+        return node != null && node.color == RED;
+    }
+
+    private static boolean isBlack(Node node) {
+        return node == null || node.color == BLACK;
+    }
+
+    // ==================== PATH-COPYING OPERATIONS ====================
+
+    private static Node rotateLeft(Node h) {
+        Node x = h.right;
+        Node lowered = new Node(h.product, h.left, x.left, RED);
+        return new Node(x.product, lowered, x.right, h.color);
+    }
+
+    private static Node rotateRight(Node h) {
+        Node x = h.left;
+        Node lowered = new Node(h.product, x.right, h.right, RED);
+        return new Node(x.product, x.left, lowered, h.color);
+    }
+
+    private static Node flipColors(Node h) {
+        Node left = new Node(h.left.product, h.left.left, h.left.right, !h.left.color);
+        Node right = new Node(h.right.product, h.right.left, h.right.right, !h.right.color);
+        return new Node(h.product, left, right, !h.color);
+    }
+
+    private static Node blacken(Node h) {
+        return isRed(h) ? new Node(h.product, h.left, h.right, BLACK) : h;
+    }
+
+    // ==================== INSERTION ====================
+
+    public synchronized void insert(Product product) {
+        root = blacken(insert(root, product));
+    }
+
+    /**
+     * Inserts a batch and publishes it with one root swap, so readers see all of it or none of it.
+     */
+    public synchronized void insertAll(Iterable<Product> products) {
+        Node h = root;
+        for (Product product : products) {
+            h = blacken(insert(h, product));
+        }
+        root = h;
+    }
+
+    private static Node insert(Node h, Product product) {
+        if (h == null) {
+            return new Node(product, null, null, RED);
+        }
+
+        int id = product.getId();
+        if (id < h.productId) {
+            h = new Node(h.product, insert(h.left, product), h.right, h.color);
+        } else if (id > h.productId) {
+            h = new Node(h.product, h.left, insert(h.right, product), h.color);
+        } else {
+            return new Node(product, h.left, h.right, h.color);
+        }
+
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            h = flipColors(h);
+        }
+        return h;
+    }
+
+    // ==================== SEARCH ====================
+
+    public Product search(int productId) {
+        Node h = root;
+        while (h != null) {
+            if (productId < h.productId) {
+                h = h.left;
+            } else if (productId > h.productId) {
+                h = h.right;
+            } else {
+                return h.product;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * In-order iterator over the snapshot current at the time of the call.
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        Deque<Node> stack = new ArrayDeque<>();
+        for (Node h = root; h != null; h = h.left) {
+            stack.push(h);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Product next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node h = stack.pop();
+                for (Node x = h.right; x != null; x = x.left) {
+                    stack.push(x);
+                }
+                return h.product;
+            }
+        };
+    }
+
+    // ==================== VALIDATION ====================
+
+    public boolean validate() {
+        Node h = root;
+        return isBlack(h) && is23(h, h) && blackHeight(h) >= 0;
+    }
+
+    public boolean is23() {
+        Node h = root;
+        return is23(h, h);
+    }
+
+    private static boolean is23(Node h, Node top) {
+        if (h == null) {
+            return true;
+        }
+        if (isRed(h.right)) {
+            return false;
+        }
+        if (h != top && isRed(h) && isRed(h.left)) {
+            return false;
+        }
+        return is23(h.left, top) && is23(h.right, top);
+    }
+
+    private static int blackHeight(Node h) {
+        if (h == null) {
+            return 0;
+        }
+        int left = blackHeight(h.left);
+        int right = blackHeight(h.right);
+        if (left < 0 || right < 0 || left != right) {
+            return -1;
+        }
+        return left + (isBlack(h) ? 1 : 0);
+    }
+
+    // ==================== UTILITY FUNCTIONS ====================
+
+    public int size() {
+        return size(root);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.count;
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        return 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    public int countRedLinks() {
+        return countRedLinks(root);
+    }
+
+    private static int countRedLinks(Node h) {
+        if (h == null) {
+            return 0;
+        }
+        return (isRed(h) ? 1 : 0) + countRedLinks(h.left) + countRedLinks(h.right);
+    }
+}
@@ -1,56 +1,398 @@
 package com.student_work;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public class CsvParser {
 
+    private static final int EXPECTED_FIELDS = 4;
+
+    // Largest mantissa (2^53) and powers of ten that are exact as doubles, for the fast price path
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
 
     public static List<Product> parseCsv(String filepath) throws IOException {
-        // TODO: Read and parse the CSV file line by line
-        throw new UnsupportedOperationException("Not implemented yet.");
+        try (Stream<Product> products = streamCsv(filepath)) {
+            return products.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streaming mode - parses the file lazily and hands off one product per line,
+     * so callers can consume rows without holding the whole file in memory.
+     * The returned stream owns an open reader and must be closed by the caller.
+     */
+    public static Stream<Product> streamCsv(String filepath) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(Path.of(filepath), StandardCharsets.UTF_8);
+        ProductIterator iterator = new ProductIterator(reader);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Memory-mapped mode - scans the file as raw bytes instead of decoded lines.
+     * Produces the same products as parseCsv, in file order.
+     */
+    public static List<Product> parseCsvMapped(String filepath) throws IOException {
+        List<Product> products = new ArrayList<>();
+        MappedCsvReader.read(Path.of(filepath), products::add);
+        return products;
+    }
+
+    /**
+     * Push-style variant of parseCsvMapped that hands each product to the action as it is parsed.
+     */
+    public static void parseCsvMapped(String filepath, Consumer<? super Product> action) throws IOException {
+        MappedCsvReader.read(Path.of(filepath), action);
+    }
+
+    /**
+     * Parallel mode - splits the file into chunks parsed across the common ForkJoinPool.
+     * Products are returned in file order.
+     */
+    public static List<Product> parseCsvParallel(String filepath) throws IOException {
+        return parseCsvParallel(filepath, ForkJoinPool.commonPool());
+    }
+
+    public static List<Product> parseCsvParallel(String filepath, ForkJoinPool pool) throws IOException {
+        return MappedCsvReader.readParallel(Path.of(filepath), pool);
+    }
+
+    /**
+     * Parallel ingest - calls the action concurrently from the pool threads as chunks are parsed,
+     * in no particular order. The action must be thread-safe, e.g. ShardedProductIndex::insert.
+     */
+    public static void parseCsvParallel(String filepath, ForkJoinPool pool, Consumer<? super Product> action)
+            throws IOException {
+        MappedCsvReader.readParallel(Path.of(filepath), pool, action);
     }
 
 
     public static Product parseLine(String line) {
-        // TODO: Parse a single CSV line into a Product object
-        throw new UnsupportedOperationException("Not implemented yet.");
+        List<String> fields = splitCsvLine(line);
+        if (fields.size() != EXPECTED_FIELDS) {
+            throw new IllegalArgumentException(
+                    "Expected " + EXPECTED_FIELDS + " fields but found " + fields.size());
+        }
+        return new Product(
+                parseProductId(fields.get(0)),
+                parseProductName(fields.get(1)),
+                CategoryDictionary.internAll(parseCategory(fields.get(2))),
+                parsePrice(fields.get(3)));
     }
 
 
     private static List<String> splitCsvLine(String line) {
-        // TODO: Split CSV line into fields while respecting quoted fields
-        throw new UnsupportedOperationException("Not implemented yet.");
+        List<String> fields = new ArrayList<>(EXPECTED_FIELDS);
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    // Escaped quote - keep both characters, unescaped later by the field parsers
+                    current.append("\"\"");
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                    current.append(c);
+                }
+            } else if (c == ',' && !inQuotes) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (inQuotes) {
+            throw new IllegalArgumentException("Malformed quotes: unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
     }
 
 
     public static int parseProductId(String field) {
-        // TODO: Parse and clean the product ID field
-        throw new UnsupportedOperationException("Not implemented yet.");
+        String value = unquote(field);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Product ID cannot be empty");
+        }
+
+        // Non-digit characters are ignored, so ids like "P001" map to 1
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 0) {
+            throw new IllegalArgumentException("Invalid product ID: " + field);
+        }
+
+        try {
+            return Integer.parseInt(digits.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid product ID: " + field, e);
+        }
+    }
+
+    /**
+     * Parses a product id straight from raw field bytes buf[from, to), with the same rules as
+     * parseProductId(String) but without building an intermediate String.
+     */
+    public static int parseProductId(byte[] buf, int from, int to) {
+        int start = trimStart(buf, from, to);
+        int end = trimEnd(buf, start, to);
+        if (end - start >= 2 && buf[start] == '"' && buf[end - 1] == '"') {
+            start++;
+            end--;
+        }
+        if (start == end) {
+            throw new IllegalArgumentException("Product ID cannot be empty");
+        }
+
+        long value = 0;
+        boolean sawDigit = false;
+        for (int i = start; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit >= 0 && digit <= 9) {
+                value = value * 10 + digit;
+                sawDigit = true;
+                if (value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Invalid product ID: " + ascii(buf, from, to));
+                }
+            }
+        }
+        if (!sawDigit) {
+            throw new IllegalArgumentException("Invalid product ID: " + ascii(buf, from, to));
+        }
+        return (int) value;
     }
 
 
     public static String parseProductName(String field) {
-        // TODO: Parse and clean the product name field
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return unquote(field);
     }
 
 
     public static String parseCategory(String field) {
-        // TODO: Parse and clean the category field
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return unquote(field);
+    }
+
+    /**
+     * Resolves each pipe-separated category through CategoryDictionary to its int id.
+     */
+    public static int[] parseCategoryIds(String field) {
+        return CategoryDictionary.internAll(parseCategory(field)).clone();
     }
 
 
     public static double parsePrice(String field) {
-        // TODO: Parse the price field and convert to double
-        throw new UnsupportedOperationException("Not implemented yet.");
+        String value = unquote(field);
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Price cannot be empty");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != '-' && c != '+') {
+                throw new IllegalArgumentException("Invalid price format: " + field);
+            }
+        }
+
+        double price;
+        try {
+            price = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price format: " + field, e);
+        }
+        if (price < 0) {
+            throw new IllegalArgumentException("Price cannot be negative: " + field);
+        }
+        return price;
+    }
+
+    /**
+     * Parses a price straight from raw field bytes buf[from, to).
+     * Plain decimals ("1899.99") take a fast path: the digits are accumulated into an exact long
+     * mantissa and divided once by an exact power of ten, which IEEE 754 rounds correctly, so the
+     * result is bit-identical to Double.parseDouble. Anything else falls back to parsePrice(String).
+     */
+    public static double parsePrice(byte[] buf, int from, int to) {
+        int start = trimStart(buf, from, to);
+        int end = trimEnd(buf, start, to);
+        if (end - start >= 2 && buf[start] == '"' && buf[end - 1] == '"') {
+            start++;
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean sawPoint = false;
+        for (; i < end; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (sawPoint) {
+                    scale++;
+                }
+                if (mantissa > MAX_EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+                    break;
+                }
+            } else if (b == '.' && !sawPoint) {
+                sawPoint = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i != end || digits == 0) {
+            // Exotic or invalid input - let the String parser decide and report it
+            return parsePrice(new String(buf, from, to - from, StandardCharsets.ISO_8859_1));
+        }
+
+        double price = mantissa / POWERS_OF_TEN[scale];
+        if (negative) {
+            price = -price;
+        }
+        if (price < 0) {
+            throw new IllegalArgumentException("Price cannot be negative: " + ascii(buf, from, to));
+        }
+        return price;
+    }
+
+    private static int trimStart(byte[] buf, int from, int to) {
+        while (from < to && (buf[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(byte[] buf, int from, int to) {
+        while (to > from && (buf[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private static String ascii(byte[] buf, int from, int to) {
+        return new String(buf, from, to - from, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Trims a raw field, strips its outer quotes and turns escaped quotes ("") into ".
+     */
+    private static String unquote(String field) {
+        String value = field.trim();
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1).replace("\"\"", "\"");
+        }
+        return value;
     }
 
 
     public static void main(String[] args) {
-        // TODO: Implement main method for testing CSV parsing
-        throw new UnsupportedOperationException("Not implemented yet.");
+        String filepath = args.length > 0 ? args[0] : "src/main/resources/amazon-product-data.csv";
+        try {
+            List<Product> products = parseCsv(filepath);
+            for (Product product : products) {
+                System.out.println(product);
+                System.out.println();
+            }
+            System.out.println("Parsed " + products.size() + " products from " + filepath);
+        } catch (IOException e) {
+            System.err.println("Error reading " + filepath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads one line at a time, skipping blank and malformed lines.
+     */
+    private static class ProductIterator implements Iterator<Product> {
+        private final BufferedReader reader;
+        private Product next;
+        private int lineNumber;
+
+        ProductIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        next = parseLine(line);
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Skipping line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Product next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Product product = next;
+            next = null;
+            return product;
+        }
+
+        void close() {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.student_work;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable id index for a catalog that is read far more often than it changes.
+ *
+ * Ids are stored in Eytzinger (breadth-first binary heap) order in one int array, with the
+ * products in a parallel array: the children of slot k are 2k and 2k + 1. A search walks down
+ * with k = 2k + (key < id), which the JIT compiles without a branch, and the top levels it
+ * touches on every lookup share a handful of cache lines. The 16 descendants four levels below
+ * a slot are contiguous, so each cache line fetched serves several levels of the walk and the
+ * hardware prefetcher can follow the access pattern. There are no node objects to chase.
+ *
+ * Only the read-only ProductLookup is implemented. Obtain one with ProductIndex.freeze() and
+ * freeze again after the source index changes.
+ */
+public final class FrozenProductIndex implements ProductLookup {
+    private final int[] keys;          // 1-based Eytzinger order; slot 0 is unused
+    private final Product[] products;
+    private final int size;
+
+    private FrozenProductIndex(int size) {
+        this.size = size;
+        this.keys = new int[size + 1];
+        this.products = new Product[size + 1];
+    }
+
+    /**
+     * Lays out the products of an index, which iterates in increasing id order.
+     */
+    static FrozenProductIndex of(ProductLookup index) {
+        FrozenProductIndex frozen = new FrozenProductIndex(index.size());
+        Iterator<Product> sorted = index.iterator();
+        frozen.fill(sorted, 1);
+        if (sorted.hasNext()) {
+            throw new IllegalStateException("Index holds more products than its size");
+        }
+        return frozen;
+    }
+
+    // An in-order walk of the implicit tree visits the slots in key order
+    private void fill(Iterator<Product> sorted, int k) {
+        if (k > size) {
+            return;
+        }
+        fill(sorted, 2 * k);
+        Product product = sorted.next();
+        keys[k] = product.getId();
+        products[k] = product;
+        fill(sorted, 2 * k + 1);
+    }
+
+    // ==================== SEARCH ====================
+
+    @Override
+    public Product search(int productId) {
+        int k = 1;
+        int ahead = 0;
+        while (k <= size) {
+            // Touch the slot four levels down so its cache line is in flight before we need it
+            ahead |= keys[Math.min(k, size >>> 4) << 4];
+            k = 2 * k + (keys[k] < productId ? 1 : 0);
+        }
+        // Undo the trailing right turns plus the last left turn to land on the first key >= id.
+        // size is never negative, so the last term is always zero; it only keeps the lookahead
+        // loads alive, which the JIT would otherwise drop as dead.
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1 + (ahead & size >>> 31);
+        return k != 0 && keys[k] == productId ? products[k] : null;
+    }
+
+    /**
+     * In-order iterator: steps to the in-order successor slot of the implicit tree.
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        return new Iterator<>() {
+            private int k = leftmost(1);
+
+            @Override
+            public boolean hasNext() {
+                return k != 0;
+            }
+
+            @Override
+            public Product next() {
+                if (k == 0) {
+                    throw new NoSuchElementException();
+                }
+                Product product = products[k];
+                if (2 * k + 1 <= size) {
+                    k = leftmost(2 * k + 1);
+                } else {
+                    // Climb while we are a right child, then once more to the parent
+                    k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+                }
+                return product;
+            }
+        };
+    }
+
+    private int leftmost(int k) {
+        if (k > size) {
+            return 0;
+        }
+        while (2 * k <= size) {
+            k = 2 * k;
+        }
+        return k;
+    }
+
+    // ==================== UTILITY FUNCTIONS ====================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int height() {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+}
@@ -0,0 +1,323 @@
+package com.student_work;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Byte-level CSV reader over a memory-mapped file.
+ * The quote/escaped-quote/comma state machine runs directly on the mapped bytes and only
+ * records field offsets; only the name and category become Strings, while the id and price
+ * are parsed straight from the field bytes.
+ * Records are line-oriented, matching CsvParser.parseCsv: like BufferedReader.readLine, a
+ * "\n", a "\r\n" or a lone "\r" always ends a record.
+ */
+final class MappedCsvReader {
+
+    // Largest region mapped at once; a file is walked window by window on record boundaries
+    private static final long MAX_WINDOW = 1L << 30;
+
+    // Bounds on the byte range handed to each parallel task
+    private static final long MIN_CHUNK = 1L << 20;
+    private static final long MAX_CHUNK = 1L << 28;
+
+    private static final int EXPECTED_FIELDS = 4;
+
+    private final int[] fieldStart = new int[EXPECTED_FIELDS];
+    private final int[] fieldEnd = new int[EXPECTED_FIELDS];
+    private byte[] scratch = new byte[256];
+
+    static void read(Path path, Consumer<? super Product> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = skipByteOrderMark(channel, size);
+            MappedCsvReader reader = new MappedCsvReader();
+
+            while (position < size) {
+                long length = Math.min(MAX_WINDOW, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int consumed = reader.parse(buffer, position, (int) length, lastWindow, action);
+                if (consumed == 0) {
+                    throw new IOException("Record at byte " + position + " exceeds the mapping window");
+                }
+                position += consumed;
+            }
+        }
+    }
+
+    /**
+     * Splits the file into byte ranges, realigns each range on the next record boundary,
+     * parses the ranges in the pool and concatenates the results in file order.
+     */
+    static List<Product> readParallel(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<ForkJoinTask<List<Product>>> tasks = new ArrayList<>();
+            for (long[] range : splitRanges(channel, pool)) {
+                tasks.add(pool.submit(() -> {
+                    List<Product> chunk = new ArrayList<>();
+                    readRange(channel, range[0], range[1], chunk::add);
+                    return chunk;
+                }));
+            }
+
+            List<List<Product>> chunks = joinAll(tasks);
+            int total = 0;
+            for (List<Product> chunk : chunks) {
+                total += chunk.size();
+            }
+
+            List<Product> products = new ArrayList<>(total);
+            for (List<Product> chunk : chunks) {
+                products.addAll(chunk);
+            }
+            return products;
+        }
+    }
+
+    /**
+     * Parses the ranges in the pool and hands every product straight to the action from the
+     * worker threads, with no ordering guarantee. The action must be thread-safe. It is never
+     * called after this method returns or throws.
+     */
+    static void readParallel(Path path, ForkJoinPool pool, Consumer<? super Product> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+            for (long[] range : splitRanges(channel, pool)) {
+                tasks.add(pool.submit(() -> readRange(channel, range[0], range[1], action), null));
+            }
+            joinAll(tasks);
+        }
+    }
+
+    private static List<long[]> splitRanges(FileChannel channel, ForkJoinPool pool) throws IOException {
+        long size = channel.size();
+        long start = skipByteOrderMark(channel, size);
+        long chunkSize = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, size / (pool.getParallelism() * 4L)));
+
+        List<long[]> ranges = new ArrayList<>();
+        while (start < size) {
+            long end = nextRecordStart(channel, Math.min(size, start + chunkSize), size);
+            ranges.add(new long[]{start, end});
+            start = end;
+        }
+        return ranges;
+    }
+
+    /**
+     * Waits for every task, even after one has failed, so that none is still reading the channel
+     * (or calling the caller's action) once the caller closes it; then rethrows the first failure.
+     */
+    private static <T> List<T> joinAll(List<ForkJoinTask<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        Throwable failure = null;
+        for (ForkJoinTask<T> task : tasks) {
+            task.quietlyJoin();
+            if (task.isCompletedNormally()) {
+                results.add(task.getRawResult());
+            } else if (failure == null) {
+                failure = task.getException();
+            }
+        }
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return results;
+    }
+
+    private static void readRange(FileChannel channel, long from, long to, Consumer<? super Product> action) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            new MappedCsvReader().parse(buffer, from, (int) (to - from), true, action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the first record start at or after position.
+     * A line break always ends a record, so this is correct even when position falls inside
+     * a quoted field such as "Sony 65"" OLED TV, Smart". Landing between the "\r" and "\n" of
+     * a CRLF only yields an empty record, which is skipped as blank.
+     */
+    private static long nextRecordStart(FileChannel channel, long position, long size) throws IOException {
+        if (position >= size) {
+            return size;
+        }
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long offset = position - 1;
+        while (offset < size) {
+            probe.clear();
+            int read = channel.read(probe, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = probe.get(i);
+                if (b == '\n' || b == '\r') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static long skipByteOrderMark(FileChannel channel, long size) throws IOException {
+        if (size < 3) {
+            return 0;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3);
+        boolean bom = (head.get(0) & 0xFF) == 0xEF && (head.get(1) & 0xFF) == 0xBB && (head.get(2) & 0xFF) == 0xBF;
+        return bom ? 3 : 0;
+    }
+
+    /**
+     * Parses every complete record in buffer[0, limit) and returns the number of bytes consumed.
+     * When atEnd is false, a trailing record without a line break is left for the next window.
+     * The "\r" of a CRLF ends the record and the "\n" then closes an empty one, which emit
+     * skips as blank.
+     */
+    int parse(MappedByteBuffer buffer, long baseOffset, int limit, boolean atEnd,
+              Consumer<? super Product> action) {
+        int recordStart = 0;
+        int fieldCount = 0;
+        int currentFieldStart = 0;
+        boolean inQuotes = false;
+
+        int i = 0;
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                if (inQuotes && i + 1 < limit && buffer.get(i + 1) == '"') {
+                    i += 2;
+                    continue;
+                }
+                inQuotes = !inQuotes;
+            } else if (b == ',' && !inQuotes) {
+                fieldCount = closeField(fieldCount, currentFieldStart, i);
+                currentFieldStart = i + 1;
+            } else if (b == '\n' || b == '\r') {
+                fieldCount = closeField(fieldCount, currentFieldStart, i);
+                emit(buffer, baseOffset + recordStart, recordStart, i, fieldCount, inQuotes, action);
+                recordStart = i + 1;
+                currentFieldStart = recordStart;
+                fieldCount = 0;
+                inQuotes = false;
+            }
+            i++;
+        }
+
+        if (atEnd && recordStart < limit) {
+            fieldCount = closeField(fieldCount, currentFieldStart, limit);
+            emit(buffer, baseOffset + recordStart, recordStart, limit, fieldCount, inQuotes, action);
+            recordStart = limit;
+        }
+        return recordStart;
+    }
+
+    private int closeField(int fieldCount, int start, int end) {
+        if (fieldCount < EXPECTED_FIELDS) {
+            fieldStart[fieldCount] = start;
+            fieldEnd[fieldCount] = end;
+        }
+        return fieldCount + 1;
+    }
+
+    private void emit(MappedByteBuffer buffer, long offset, int start, int end, int fieldCount,
+                      boolean inQuotes, Consumer<? super Product> action) {
+        if (isBlank(buffer, start, end)) {
+            return;
+        }
+        Product product;
+        try {
+            if (inQuotes) {
+                throw new IllegalArgumentException("Malformed quotes: unterminated quoted field");
+            }
+            if (fieldCount != EXPECTED_FIELDS) {
+                throw new IllegalArgumentException(
+                        "Expected " + EXPECTED_FIELDS + " fields but found " + fieldCount);
+            }
+            int idLength = copyField(buffer, 0, false);
+            int id = CsvParser.parseProductId(scratch, 0, idLength);
+            String name = decodeField(buffer, 1);
+            int[] categoryIds = CategoryDictionary.internAll(decodeField(buffer, 2));
+            int priceLength = copyField(buffer, 3, false);
+            product = new Product(id, name, categoryIds, CsvParser.parsePrice(scratch, 0, priceLength));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping record at byte " + offset + ": " + e.getMessage());
+            return;
+        }
+        action.accept(product);
+    }
+
+    private static boolean isBlank(MappedByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes one field: trims it, strips outer quotes and unescapes "" while copying out of the buffer.
+     */
+    private String decodeField(MappedByteBuffer buffer, int field) {
+        int length = copyField(buffer, field, true);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies a field into scratch and returns its length. Without unquote the raw bytes are
+     * copied as-is for the byte-level id and price parsers, which do their own trimming.
+     */
+    private int copyField(MappedByteBuffer buffer, int field, boolean unquote) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean quoted = false;
+        if (unquote) {
+            while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+                end--;
+            }
+            quoted = end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+            if (quoted) {
+                start++;
+                end--;
+            }
+        }
+        if (scratch.length < end - start) {
+            scratch = new byte[Math.max(end - start, scratch.length * 2)];
+        }
+
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            scratch[length++] = b;
+            if (quoted && b == '"' && i + 1 < end && buffer.get(i + 1) == '"') {
+                i++;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,236 @@
+package com.student_work;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Read-only index over product names for autocomplete and substring search.
+ *
+ * Names are normalized (lowercased, double quotes dropped, so the query art of war matches the
+ * name Book: "The Art of War") and packed into one char array, each name ending in a NUL.
+ * Prefix search binary-searches the names sorted alphabetically; substring search
+ * binary-searches a suffix array holding every position of that text, sorted by the rest of its
+ * name. Both cost O(|query| log n) plus the matches returned.
+ *
+ * The index is a snapshot of the products it was built from; rebuild it after updates.
+ */
+public class NameIndex {
+    private static final char END = '\0';
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final Product[] products;
+    private final int[] nameStart;    // Offset of each product's name in text, increasing
+    private final char[] text;
+    private final int[] byName;       // Product indexes sorted by normalized name
+    private final int[] suffixes;     // Text positions sorted by the suffix up to its name's end
+
+    private NameIndex(Product[] products, int[] nameStart, char[] text) {
+        this.products = products;
+        this.nameStart = nameStart;
+        this.text = text;
+
+        byName = new int[products.length];
+        for (int i = 0; i < products.length; i++) {
+            byName[i] = nameStart[i];
+        }
+        sort(byName, 0, byName.length, 0);
+        for (int i = 0; i < byName.length; i++) {
+            byName[i] = owner(byName[i]);
+        }
+
+        suffixes = new int[text.length - products.length];
+        int n = 0;
+        for (int i = 0; i < text.length; i++) {
+            if (text[i] != END) {
+                suffixes[n++] = i;
+            }
+        }
+        sort(suffixes, 0, suffixes.length, 0);
+    }
+
+    public static NameIndex of(Iterable<Product> products) {
+        List<Product> list = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int[] starts = new int[16];
+        for (Product product : products) {
+            if (list.size() == starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[list.size()] = text.length();
+            list.add(product);
+            text.append(normalize(product.getName())).append(END);
+        }
+        char[] chars = new char[text.length()];
+        text.getChars(0, chars.length, chars, 0);
+        return new NameIndex(list.toArray(new Product[0]), Arrays.copyOf(starts, list.size()), chars);
+    }
+
+    static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c != '"' && c != END) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Returns up to limit products whose name starts with prefix, alphabetically.
+     */
+    public List<Product> prefixSearch(String prefix, int limit) {
+        char[] query = normalize(prefix).toCharArray();
+        List<Product> results = new ArrayList<>();
+        int from = lowerBound(byName, query, true);
+        for (int i = from; i < byName.length && results.size() < limit; i++) {
+            if (compare(nameStart[byName[i]], query) != 0) {
+                break;
+            }
+            results.add(products[byName[i]]);
+        }
+        return results;
+    }
+
+    /**
+     * Returns up to limit distinct products whose name contains query, ordered by the text
+     * following the first match.
+     */
+    public List<Product> substringSearch(String query, int limit) {
+        char[] pattern = normalize(query).toCharArray();
+        List<Product> results = new ArrayList<>();
+        if (pattern.length == 0) {
+            return results;
+        }
+        BitSet seen = new BitSet(products.length);
+        int from = lowerBound(suffixes, pattern, false);
+        for (int i = from; i < suffixes.length && results.size() < limit; i++) {
+            if (compare(suffixes[i], pattern) != 0) {
+                break;
+            }
+            int owner = owner(suffixes[i]);
+            if (!seen.get(owner)) {
+                seen.set(owner);
+                results.add(products[owner]);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Number of distinct products whose name contains query.
+     */
+    public int countContaining(String query) {
+        return substringSearch(query, Integer.MAX_VALUE).size();
+    }
+
+    public int size() {
+        return products.length;
+    }
+
+    // First index whose entry is >= query; entries are text positions, or product indexes
+    private int lowerBound(int[] sorted, char[] query, boolean productIndexes) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int position = productIndexes ? nameStart[sorted[mid]] : sorted[mid];
+            if (compare(position, query) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Compares the suffix at position, truncated to query's length, against query
+    private int compare(int position, char[] query) {
+        for (int i = 0; i < query.length; i++) {
+            char c = text[position + i];
+            if (c != query[i]) {
+                return c < query[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private int owner(int position) {
+        int at = Arrays.binarySearch(nameStart, position);
+        return at >= 0 ? at : -at - 2;
+    }
+
+    // ==================== SUFFIX SORTING ====================
+
+    // Multikey quicksort: three-way partition on the char at depth, recursing one char deeper
+    // only into the equal part. END sorts first and stops the recursion, since no suffix
+    // continues past its own name.
+    private void sort(int[] a, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int pivot = charAt(a[lo + (hi - lo) / 2], depth);
+            int lt = lo;
+            int gt = hi - 1;
+            int i = lo;
+            while (i <= gt) {
+                int c = charAt(a[i], depth);
+                if (c < pivot) {
+                    swap(a, lt++, i++);
+                } else if (c > pivot) {
+                    swap(a, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            sort(a, lo, lt, depth);
+            sort(a, gt + 1, hi, depth);
+            if (pivot == END) {
+                return;
+            }
+            lo = lt;
+            hi = gt + 1;
+            depth++;
+        }
+        insertionSort(a, lo, hi, depth);
+    }
+
+    private void insertionSort(int[] a, int lo, int hi, int depth) {
+        for (int i = lo + 1; i < hi; i++) {
+            int key = a[i];
+            int j = i - 1;
+            while (j >= lo && less(key, a[j], depth)) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = key;
+        }
+    }
+
+    private boolean less(int x, int y, int depth) {
+        for (int d = depth; ; d++) {
+            char cx = text[x + d];
+            char cy = text[y + d];
+            if (cx != cy) {
+                return cx < cy;
+            }
+            if (cx == END) {
+                return false;
+            }
+        }
+    }
+
+    private char charAt(int position, int depth) {
+        return text[position + depth];
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
@@ -0,0 +1,114 @@
+package com.student_work;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only product storage outside the Java heap.
+ * Each product is encoded as one record in a direct ByteBuffer segment and addressed by a long
+ * (segment index in the high 32 bits, byte offset in the low 32 bits), so the GC never scans it.
+ * Products are only materialized again on read.
+ *
+ * Record layout: id (int), price (double), category count (int), category ids (int each),
+ * name length (int), name (UTF-8 bytes).
+ */
+public final class OffHeapProductStore {
+    private static final int DEFAULT_SEGMENT_SIZE = 8 << 20;
+    private static final int FIXED_BYTES = Integer.BYTES + Double.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private ByteBuffer current;
+    private int records;
+    private long bytesUsed;
+
+    public OffHeapProductStore() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    public OffHeapProductStore(int segmentSize) {
+        if (segmentSize < FIXED_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Appends a product record and returns its address.
+     */
+    public long add(Product product) {
+        byte[] name = product.getName().getBytes(StandardCharsets.UTF_8);
+        int[] categoryIds = product.categoryIds();
+        int length = FIXED_BYTES + categoryIds.length * Integer.BYTES + name.length;
+
+        if (current == null || current.capacity() - current.position() < length) {
+            // Records never span segments; an oversized record gets a segment of its own
+            current = ByteBuffer.allocateDirect(Math.max(segmentSize, length));
+            segments.add(current);
+        }
+
+        int offset = current.position();
+        current.putInt(product.getId());
+        current.putDouble(product.getPrice());
+        current.putInt(categoryIds.length);
+        for (int categoryId : categoryIds) {
+            current.putInt(categoryId);
+        }
+        current.putInt(name.length);
+        current.put(name);
+
+        records++;
+        bytesUsed += length;
+        return ((long) (segments.size() - 1) << 32) | offset;
+    }
+
+    /**
+     * Materializes the product stored at an address.
+     */
+    public Product read(long address) {
+        ByteBuffer segment = segment(address);
+        int offset = (int) address;
+
+        int id = segment.getInt(offset);
+        double price = segment.getDouble(offset + Integer.BYTES);
+        int position = offset + Integer.BYTES + Double.BYTES;
+
+        int[] categoryIds = new int[segment.getInt(position)];
+        position += Integer.BYTES;
+        for (int i = 0; i < categoryIds.length; i++) {
+            categoryIds[i] = segment.getInt(position);
+            position += Integer.BYTES;
+        }
+
+        byte[] name = new byte[segment.getInt(position)];
+        segment.get(position + Integer.BYTES, name);
+        return new Product(id, new String(name, StandardCharsets.UTF_8),
+                CategoryDictionary.canonical(categoryIds), price);
+    }
+
+    public int readId(long address) {
+        return segment(address).getInt((int) address);
+    }
+
+    public double readPrice(long address) {
+        return segment(address).getDouble((int) address + Integer.BYTES);
+    }
+
+    public int records() {
+        return records;
+    }
+
+    public long bytesUsed() {
+        return bytesUsed;
+    }
+
+    private ByteBuffer segment(long address) {
+        int index = (int) (address >>> 32);
+        if (index >= segments.size()) {
+            throw new IllegalArgumentException("Invalid address: " + address);
+        }
+        return segments.get(index);
+    }
+}
@@ -0,0 +1,345 @@
+package com.student_work;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Secondary left-leaning red-black tree ordering products by price.
+ * Nodes are keyed on (price, id), so equal prices are kept apart and tie-break by id; an
+ * in-order walk lists products cheapest first. Range and top-K queries prune every subtree
+ * outside the answer, so they cost O(log n + k).
+ *
+ * The index holds the same Product objects as the id tree. A product whose price changes must
+ * be removed with its old value before the new one is inserted.
+ */
+public class PriceIndex {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private Node root;
+    private int size;
+
+    private static class Node {
+        Product product;
+        Node left, right;
+        boolean color;
+
+        Node(Product product) {
+            this.product = product;
+            this.color = RED;
+        }
+    }
+
+
+    public PriceIndex() {
+        this.root = null;
+    }
+
+    public static PriceIndex of(Iterable<Product> products) {
+        PriceIndex index = new PriceIndex();
+        for (Product product : products) {
+            index.insert(product);
+        }
+        return index;
+    }
+
+    // Orders by price, then id; Double.compare keeps -0.0 < 0.0 and NaN last, consistent with equals
+    private static int compare(double price, int id, Product product) {
+        int byPrice = Double.compare(price, product.getPrice());
+        return byPrice != 0 ? byPrice : Integer.compare(id, product.getId());
+    }
+
+    // ==================== VALIDATION FUNCTIONS ====================
+
+    private static boolean isRed(Node node) {
+        return node != null && node.color == RED;
+    }
+
+    // ==================== ROTATION OPERATIONS ====================
+
+    private static Node rotateLeft(Node h) {
+        Node x = h.right;
+        h.right = x.left;
+        x.left = h;
+        x.color = h.color;
+        h.color = RED;
+        return x;
+    }
+
+    private static Node rotateRight(Node h) {
+        Node x = h.left;
+        h.left = x.right;
+        x.right = h;
+        x.color = h.color;
+        h.color = RED;
+        return x;
+    }
+
+    private static void flipColors(Node h) {
+        h.color = !h.color;
+        h.left.color = !h.left.color;
+        h.right.color = !h.right.color;
+    }
+
+    private static Node fixUp(Node h) {
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            flipColors(h);
+        }
+        return h;
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Adds a product, replacing one already indexed with the same price and id.
+     */
+    public void insert(Product product) {
+        root = insert(root, product);
+        root.color = BLACK;
+    }
+
+    private Node insert(Node h, Product product) {
+        if (h == null) {
+            size++;
+            return new Node(product);
+        }
+        int cmp = compare(product.getPrice(), product.getId(), h.product);
+        if (cmp < 0) {
+            h.left = insert(h.left, product);
+        } else if (cmp > 0) {
+            h.right = insert(h.right, product);
+        } else {
+            h.product = product;
+        }
+        return fixUp(h);
+    }
+
+    /**
+     * Removes the entry for this product's current price and id; returns false if there is none.
+     */
+    public boolean remove(Product product) {
+        double price = product.getPrice();
+        int id = product.getId();
+        if (!contains(price, id)) {
+            return false;
+        }
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = delete(root, price, id);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        size--;
+        return true;
+    }
+
+    private boolean contains(double price, int id) {
+        Node h = root;
+        while (h != null) {
+            int cmp = compare(price, id, h.product);
+            if (cmp == 0) {
+                return true;
+            }
+            h = cmp < 0 ? h.left : h.right;
+        }
+        return false;
+    }
+
+    private Node delete(Node h, double price, int id) {
+        if (compare(price, id, h.product) < 0) {
+            if (!isRed(h.left) && !isRed(h.left.left)) {
+                h = moveRedLeft(h);
+            }
+            h.left = delete(h.left, price, id);
+        } else {
+            if (isRed(h.left)) {
+                h = rotateRight(h);
+            }
+            if (compare(price, id, h.product) == 0 && h.right == null) {
+                return null;
+            }
+            if (!isRed(h.right) && !isRed(h.right.left)) {
+                h = moveRedRight(h);
+            }
+            if (compare(price, id, h.product) == 0) {
+                // Replace with the successor, then remove the successor from the right subtree
+                Node successor = h.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                h.product = successor.product;
+                h.right = deleteMin(h.right);
+            } else {
+                h.right = delete(h.right, price, id);
+            }
+        }
+        return fixUp(h);
+    }
+
+    private Node deleteMin(Node h) {
+        if (h.left == null) {
+            return null;
+        }
+        if (!isRed(h.left) && !isRed(h.left.left)) {
+            h = moveRedLeft(h);
+        }
+        h.left = deleteMin(h.left);
+        return fixUp(h);
+    }
+
+    private Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.right.left)) {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.left.left)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    // ==================== PRICE QUERIES ====================
+
+    /**
+     * Returns all products with lo <= price <= hi, cheapest first (ties by id).
+     */
+    public List<Product> priceRange(double lo, double hi) {
+        List<Product> results = new ArrayList<>();
+        if (lo <= hi) {
+            priceRange(root, lo, hi, -1, results);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the products in the category with lo <= price <= hi, cheapest first.
+     * Products outside the category are skipped during the walk, so the cost is
+     * O(log n + products in the price range).
+     */
+    public List<Product> priceRange(double lo, double hi, String category) {
+        List<Product> results = new ArrayList<>();
+        int categoryId = CategoryDictionary.lookup(category);
+        if (lo <= hi && categoryId >= 0) {
+            priceRange(root, lo, hi, categoryId, results);
+        }
+        return results;
+    }
+
+    private void priceRange(Node h, double lo, double hi, int categoryId, List<Product> results) {
+        if (h == null) {
+            return;
+        }
+        double price = h.product.getPrice();
+        if (lo <= price) {
+            priceRange(h.left, lo, hi, categoryId, results);
+        }
+        if (lo <= price && price <= hi && (categoryId < 0 || h.product.hasCategory(categoryId))) {
+            results.add(h.product);
+        }
+        if (price <= hi) {
+            priceRange(h.right, lo, hi, categoryId, results);
+        }
+    }
+
+    /**
+     * Returns the k cheapest products, cheapest first.
+     */
+    public List<Product> topKCheapest(int k) {
+        List<Product> results = new ArrayList<>(Math.max(0, Math.min(k, size)));
+        collectAscending(root, k, results);
+        return results;
+    }
+
+    /**
+     * Returns the k most expensive products, most expensive first.
+     */
+    public List<Product> topKMostExpensive(int k) {
+        List<Product> results = new ArrayList<>(Math.max(0, Math.min(k, size)));
+        collectDescending(root, k, results);
+        return results;
+    }
+
+    private void collectAscending(Node h, int k, List<Product> results) {
+        if (h == null || results.size() >= k) {
+            return;
+        }
+        collectAscending(h.left, k, results);
+        if (results.size() < k) {
+            results.add(h.product);
+            collectAscending(h.right, k, results);
+        }
+    }
+
+    private void collectDescending(Node h, int k, List<Product> results) {
+        if (h == null || results.size() >= k) {
+            return;
+        }
+        collectDescending(h.right, k, results);
+        if (results.size() < k) {
+            results.add(h.product);
+            collectDescending(h.left, k, results);
+        }
+    }
+
+    // ==================== VALIDATION ====================
+
+    /**
+     * Checks the LLRB invariants and the (price, id) ordering.
+     */
+    public boolean validate() {
+        return !isRed(root) && isOrdered(root, null, null) && blackHeight(root) >= 0;
+    }
+
+    private boolean isOrdered(Node h, Product min, Product max) {
+        if (h == null) {
+            return true;
+        }
+        if (isRed(h.right) || (isRed(h) && isRed(h.left))) {
+            return false;
+        }
+        if (min != null && compare(h.product.getPrice(), h.product.getId(), min) <= 0) {
+            return false;
+        }
+        if (max != null && compare(h.product.getPrice(), h.product.getId(), max) >= 0) {
+            return false;
+        }
+        return isOrdered(h.left, min, h.product) && isOrdered(h.right, h.product, max);
+    }
+
+    private int blackHeight(Node h) {
+        if (h == null) {
+            return 0;
+        }
+        int left = blackHeight(h.left);
+        int right = blackHeight(h.right);
+        if (left < 0 || right < 0 || left != right) {
+            return -1;
+        }
+        return left + (isRed(h) ? 0 : 1);
+    }
+
+    // ==================== UTILITY FUNCTIONS ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -1,52 +1,84 @@
 package com.student_work;
 
+import java.util.Locale;
 
 public class Product implements Comparable<Product> {
     private final int id;
     private final String name;
-    private final String category;  // Multiple categories separated by |
+    private final int[] categoryIds;  // Interned CategoryDictionary ids, one per | separated category
     private final double price;
 
     public Product(int id, String name, String category, double price) {
-        // TODO: Initialize all final fields with the provided parameters
-        throw new UnsupportedOperationException("Not implemented yet.");
+        this(id, name, CategoryDictionary.internAll(category), price);
+    }
+
+    /**
+     * categoryIds must be a shared array from CategoryDictionary.internAll, never a private copy.
+     */
+    Product(int id, String name, int[] categoryIds, double price) {
+        this.id = id;
+        this.name = name;
+        this.categoryIds = categoryIds;
+        this.price = price;
     }
 
     public int getId() {
-        // TODO: Return the product ID
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return id;
     }
 
     public String getName() {
-        // TODO: Return the product name
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return name;
     }
 
     public String getCategory() {
-        // TODO: Return the category string (may contain multiple categories separated by |)
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return CategoryDictionary.join(categoryIds);
+    }
+
+    public int[] getCategoryIds() {
+        return categoryIds.clone();
+    }
+
+    public boolean hasCategory(int categoryId) {
+        for (int id : categoryIds) {
+            if (id == categoryId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int[] categoryIds() {
+        return categoryIds;
     }
 
     public double getPrice() {
-        // TODO: Return the product price
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return price;
     }
 
     @Override
     public String toString() {
-        // TODO: Return a formatted string representation of the product
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return String.format(Locale.US, "Product ID: %d%nName: %s%nCategory: %s%nPrice: $%.2f",
+                id, name, getCategory(), price);
     }
 
     @Override
     public boolean equals(Object obj) {
-        // TODO: Implement equals method to compare two Product objects
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Product)) {
+            return false;
+        }
+        return id == ((Product) obj).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
     }
 
     @Override
     public int compareTo(Product o) {
-        // TODO: Implement comparison based on product ID for Red-Black tree ordering
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return Integer.compare(id, o.id);
     }
-}
\ No newline at end of file
+}
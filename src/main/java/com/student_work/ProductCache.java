@@ -0,0 +1,172 @@
+package com.student_work;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Bounded cache of search results, keyed by product id.
+ * Both hits and misses are cached, so a repeated lookup of an unknown id skips the tree too.
+ * Entries are kept in least-recently-used order. With the TINY_LFU policy a new entry only
+ * displaces the LRU victim if a count-min sketch says it has been requested more often, so a
+ * burst of one-off ids can't flush the hot set.
+ *
+ * Not thread-safe; it is owned by a RedBlackTree, which invalidates entries as it changes.
+ */
+public class ProductCache {
+
+    public enum Policy { LRU, TINY_LFU }
+
+    // Marks a cached miss, since null means "not cached"
+    private static final Object ABSENT = new Object();
+
+    private final int capacity;
+    private final Policy policy;
+    private final LinkedHashMap<Integer, Object> entries;
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+
+    public ProductCache(int capacity) {
+        this(capacity, Policy.TINY_LFU);
+    }
+
+    public ProductCache(int capacity, Policy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 1 << 16) * 4 / 3 + 1, 0.75f, true);
+        this.sketch = policy == Policy.TINY_LFU ? new FrequencySketch(capacity) : null;
+    }
+
+    /**
+     * Returns the cached result for productId, or loads it (possibly null) and caches it.
+     */
+    Product get(int productId, IntFunction<Product> loader) {
+        if (sketch != null) {
+            sketch.increment(productId);
+        }
+        Object cached = entries.get(productId);
+        if (cached != null) {
+            hits++;
+            return cached == ABSENT ? null : (Product) cached;
+        }
+        misses++;
+        Product product = loader.apply(productId);
+        admit(productId, product == null ? ABSENT : product);
+        return product;
+    }
+
+    private void admit(int productId, Object value) {
+        if (entries.size() >= capacity) {
+            Iterator<Map.Entry<Integer, Object>> eldest = entries.entrySet().iterator();
+            int victim = eldest.next().getKey();
+            if (sketch != null && sketch.frequency(productId) <= sketch.frequency(victim)) {
+                return;
+            }
+            eldest.remove();
+        }
+        entries.put(productId, value);
+    }
+
+    void invalidate(int productId) {
+        entries.remove(productId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long hits() {
+        return hits;
+    }
+
+    public long misses() {
+        return misses;
+    }
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public Policy policy() {
+        return policy;
+    }
+
+    /**
+     * Count-min sketch of recent request frequencies: four hashed 8-bit counters per id,
+     * estimate = the smallest. All counters are halved once the sample reaches ten times the
+     * cache size, so old popularity fades.
+     */
+    private static class FrequencySketch {
+        private static final int MAX_COUNT = 255;
+        private static final int MIN_COUNTERS = 1024;
+        // One odd multiplier per row, so each id's four counters are picked independently;
+        // hashing id + row instead would make consecutive ids share three of their counters
+        private static final int[] SEEDS = {0x9E3779B9, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1};
+
+        private final byte[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            // About eight counters per cached entry keeps collisions from inflating estimates
+            int size = Integer.highestOneBit(Math.max(MIN_COUNTERS, Math.min(capacity, 1 << 22) * 8) * 2 - 1);
+            table = new byte[size];
+            mask = size - 1;
+            sampleSize = (int) Math.min(Integer.MAX_VALUE, capacity * 10L);
+        }
+
+        void increment(int productId) {
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int slot = slot(productId, i);
+                int count = table[slot] & 0xFF;
+                if (count < MAX_COUNT) {
+                    table[slot] = (byte) (count + 1);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (byte) ((table[i] & 0xFF) >>> 1);
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(int productId) {
+            int min = MAX_COUNT;
+            for (int i = 0; i < 4; i++) {
+                min = Math.min(min, table[slot(productId, i)] & 0xFF);
+            }
+            return min;
+        }
+
+        private int slot(int productId, int i) {
+            int h = productId * SEEDS[i];
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h & mask;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.student_work;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from product id to Product, with no Integer boxing.
+ * Ids live in a primitive int array probed linearly from a Fibonacci hash, so a lookup is
+ * usually one or two adjacent array reads; a null product marks an empty slot. Removal shifts
+ * the rest of the probe run back instead of leaving tombstones.
+ *
+ * Not thread-safe; RedBlackTree keeps it in sync with the tree.
+ */
+final class ProductHashIndex {
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Product[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    ProductHashIndex() {
+        this(0);
+    }
+
+    ProductHashIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    // Keeps the load factor at or below 2/3
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 3 / 2 + 1);
+        return (int) Math.min(1 << 30, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Product[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private int slot(int productId) {
+        return (productId * 0x9E3779B9) >>> shift;
+    }
+
+    Product get(int productId) {
+        for (int i = slot(productId); ; i = (i + 1) & mask) {
+            Product value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == productId) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Maps the product's id to it, returning the product it replaced or null.
+     */
+    Product put(Product product) {
+        int productId = product.getId();
+        int i = slot(productId);
+        while (values[i] != null) {
+            if (keys[i] == productId) {
+                Product previous = values[i];
+                values[i] = product;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = productId;
+        values[i] = product;
+        if (++size * 3 > keys.length * 2) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    Product remove(int productId) {
+        int i = slot(productId);
+        while (values[i] != null) {
+            if (keys[i] == productId) {
+                Product removed = values[i];
+                shiftBack(i);
+                size--;
+                return removed;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // Backward-shift deletion: move later entries of the run into the hole when their home
+    // slot does not lie cyclically between the hole and their current slot
+    private void shiftBack(int hole) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null) {
+                break;
+            }
+            int home = slot(keys[i]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = null;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Product[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i]);
+                while (values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,41 @@
+package com.student_work;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Primary product index keyed by id, so ProductManager can run on either tree layout.
+ * Adds updates to the read-only ProductLookup.
+ */
+public interface ProductIndex extends ProductLookup {
+
+    /**
+     * Adds a product, replacing the stored product if its id is already present.
+     */
+    void insert(Product product);
+
+    /**
+     * Like insert, but returns the replaced product, or null if the id was new.
+     */
+    Product upsert(Product product);
+
+    /**
+     * Removes the product with the given id and returns it, or null if it is not present.
+     */
+    Product delete(int productId);
+
+    /**
+     * Writes every product in id order to a checksummed binary snapshot file.
+     */
+    default void writeSnapshot(Path path) throws IOException {
+        ProductSnapshot.write(this, path);
+    }
+
+    /**
+     * Returns an immutable copy laid out for fast lookups; later changes to this index are not
+     * reflected in it.
+     */
+    default FrozenProductIndex freeze() {
+        return FrozenProductIndex.of(this);
+    }
+}
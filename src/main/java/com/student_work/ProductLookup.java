@@ -0,0 +1,16 @@
+package com.student_work;
+
+/**
+ * Read-only view of a product index keyed by id.
+ * Iteration visits products in increasing id order.
+ */
+public interface ProductLookup extends Iterable<Product> {
+
+    Product search(int productId);
+
+    int size();
+
+    int height();
+
+    boolean isEmpty();
+}
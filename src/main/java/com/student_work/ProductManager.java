@@ -1,17 +1,328 @@
 package com.student_work;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 public class ProductManager {
 
+    private static final String DEFAULT_CSV = "src/main/resources/amazon-product-data.csv";
+    private static final String DEFAULT_DATA_DIR = "build/data";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final String LOG_SUFFIX = ".log";
+    private static final int NAME_RESULTS = 20;
+    private static final String LLRB = "llrb";
+    private static final String BTREE = "btree";
+    private static final long REFREEZE_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // Logged changes after which a session writes a snapshot and truncates the log
+    private static final int CHECKPOINT_EVERY = 1000;
+
+    /**
+     * Usage: ProductManager [csv] [llrb|btree] [data-dir] - the second argument picks the primary
+     * index, and the snapshot and change log live in data-dir (build/data by default), outside
+     * the source tree.
+     */
     public static void main(String[] args) {
-        // TODO: Implement the main driver program for the product management system
-        throw new UnsupportedOperationException("Not implemented yet.");
+        String filepath = args.length > 0 ? args[0] : DEFAULT_CSV;
+        String indexType = args.length > 1 ? args[1] : LLRB;
+        Path dataDir = Path.of(args.length > 2 ? args[2] : DEFAULT_DATA_DIR);
+        if (!indexType.equals(LLRB) && !indexType.equals(BTREE)) {
+            System.err.println("Unknown index type: " + indexType + " (expected " + LLRB + " or " + BTREE + ")");
+            return;
+        }
+        Path csv = Path.of(filepath);
+        Path snapshot = dataDir.resolve(csv.getFileName() + SNAPSHOT_SUFFIX);
+        Path logPath = dataDir.resolve(csv.getFileName() + LOG_SUFFIX);
+        try {
+            Files.createDirectories(dataDir);
+        } catch (IOException e) {
+            System.err.println("Error creating data directory " + dataDir + ": " + e.getMessage());
+            return;
+        }
+
+        // Interactive changes arrive one at a time, so make each durable before it is applied
+        try (ChangeLog log = ChangeLog.open(logPath, 1)) {
+            ProductIndex tree;
+            try {
+                tree = load(csv, snapshot, logPath, log, indexType);
+            } catch (IOException e) {
+                System.err.println("Error reading " + filepath + ": " + e.getMessage());
+                return;
+            }
+
+            CategoryIndex categories = CategoryIndex.of(tree);
+            PriceIndex prices = PriceIndex.of(tree);
+
+            System.out.println("Tree height: " + tree.height());
+            if (tree instanceof RedBlackTree) {
+                RedBlackTree llrb = (RedBlackTree) tree;
+                // Exact-id lookups go to the hash index; range and ordered queries still use the tree
+                llrb.enableHashIndex();
+                System.out.println("Red links: " + llrb.countRedLinks());
+                System.out.println("Valid LLRB: " + llrb.validate());
+            }
+            System.out.println();
+
+            search(tree, categories, prices, log, snapshot);
+        } catch (IOException e) {
+            System.err.println("Error writing change log " + logPath + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the index from the snapshot when it is newer than the CSV, or otherwise (also when the
+     * snapshot is rejected) parses the CSV. Either way the change log is then replayed over the
+     * tree, so logged changes survive a CSV reload; replay is idempotent, so records the snapshot
+     * already captured are harmless. If the tree now differs from the snapshot, it is checkpointed
+     * so the next start reads a current snapshot and an empty log.
+     */
+    private static ProductIndex load(Path csv, Path snapshot, Path logPath, ChangeLog log, String indexType)
+            throws IOException {
+        ProductIndex tree = null;
+        if (Files.exists(snapshot)
+                && Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(csv)) >= 0) {
+            try {
+                tree = indexType.equals(BTREE)
+                        ? BPlusTree.loadSnapshot(snapshot)
+                        : RedBlackTree.loadSnapshot(snapshot);
+                System.out.println("Loaded " + tree.size() + " products from " + snapshot);
+            } catch (IOException e) {
+                System.err.println("Ignoring snapshot " + snapshot + ": " + e.getMessage());
+            }
+        }
+
+        boolean fromCsv = tree == null;
+        if (fromCsv) {
+            tree = indexType.equals(BTREE) ? new BPlusTree() : new RedBlackTree();
+            // Stream rows straight into the tree so only the tree itself stays on the heap
+            try (Stream<Product> products = CsvParser.streamCsv(csv.toString())) {
+                products.forEach(tree::insert);
+            }
+            System.out.println("Loaded " + tree.size() + " products from " + csv);
+        }
+
+        int changes = ChangeLog.replay(logPath, tree);
+        if (changes > 0) {
+            System.out.println("Replayed " + changes + " changes from " + logPath);
+        }
+
+        if (fromCsv || changes > 0) {
+            checkpoint(tree, snapshot, log);
+        }
+        return tree;
+    }
+
+    /**
+     * Writes a snapshot of the tree and, only once it is on disk, truncates the change log it now
+     * captures. If the snapshot can't be written the log is kept, so no change is lost.
+     */
+    private static boolean checkpoint(ProductIndex tree, Path snapshot, ChangeLog log) throws IOException {
+        try {
+            tree.writeSnapshot(snapshot);
+        } catch (IOException e) {
+            System.err.println("Could not write snapshot " + snapshot + ": " + e.getMessage());
+            return false;
+        }
+        log.truncate();
+        return true;
+    }
+
+    /**
+     * Interactive search mode - allows user to search for products by ID.
+     * "put <csv row>" inserts or updates a product and "delete <id>" removes one; both are
+     * written to the change log and synced to disk before the tree is touched, and every
+     * CHECKPOINT_EVERY changes, and once more on exit, the tree is checkpointed to the snapshot.
+     * "category A AND B" / "category A OR B" lists the products in all / any of the categories,
+     * and "price <lo> <hi> [category]" lists the products in a price range, cheapest first.
+     * "name <text>" finds products whose name contains the text and "prefix <text>" autocompletes
+     * names; the name index is built on first use and rebuilt after updates.
+     * The LLRB answers id lookups from its hash index. Other indexes answer them from a frozen
+     * copy, which is dropped on an update and only re-frozen once nothing has changed for
+     * REFREEZE_DELAY_NANOS; until then lookups go to the live tree.
+     */
+    private static void search(ProductIndex tree, CategoryIndex categories, PriceIndex prices, ChangeLog log,
+                               Path snapshot) throws IOException {
+        Scanner scanner = new Scanner(System.in);
+        NameIndex names = null;
+        int unsaved = 0;
+        boolean freezable = !(tree instanceof RedBlackTree);
+        FrozenProductIndex frozen = freezable ? tree.freeze() : null;
+        long lastChange = System.nanoTime();
+        while (true) {
+            System.out.print("Enter product ID, 'name <text>', 'prefix <text>', 'category <A AND B>', "
+                    + "'price <lo> <hi> [category]', 'put <csv row>', 'delete <id>' (or 'exit' to quit): ");
+            if (!scanner.hasNextLine()) {
+                break;
+            }
+            String input = scanner.nextLine().trim();
+            if (input.equalsIgnoreCase("exit")) {
+                break;
+            }
+            if (input.isEmpty()) {
+                continue;
+            }
+
+            if (freezable && frozen == null && System.nanoTime() - lastChange >= REFREEZE_DELAY_NANOS) {
+                frozen = tree.freeze();
+            }
+            ProductLookup lookup = frozen != null ? frozen : tree;
+
+            if (input.regionMatches(true, 0, "category ", 0, 9)) {
+                searchCategories(lookup, categories, input.substring(9).trim());
+                System.out.println();
+                continue;
+            }
+
+            if (input.regionMatches(true, 0, "price ", 0, 6)) {
+                searchPrices(prices, input.substring(6).trim());
+                System.out.println();
+                continue;
+            }
+
+            boolean prefix = input.regionMatches(true, 0, "prefix ", 0, 7);
+            if (prefix || input.regionMatches(true, 0, "name ", 0, 5)) {
+                if (names == null) {
+                    names = NameIndex.of(tree);
+                }
+                String query = input.substring(prefix ? 7 : 5).trim();
+                List<Product> results = prefix
+                        ? names.prefixSearch(query, NAME_RESULTS)
+                        : names.substringSearch(query, NAME_RESULTS);
+                for (Product product : results) {
+                    System.out.println(product);
+                    System.out.println();
+                }
+                System.out.println(results.size() + " products matching " + query);
+                System.out.println();
+                continue;
+            }
+
+            if (input.regionMatches(true, 0, "put ", 0, 4)) {
+                Product product;
+                try {
+                    product = CsvParser.parseLine(input.substring(4));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Invalid product row: " + e.getMessage());
+                    continue;
+                }
+                log.put(product);
+                Product previous = tree.upsert(product);
+                if (previous != null) {
+                    categories.remove(previous);
+                    prices.remove(previous);
+                }
+                categories.add(product);
+                prices.insert(product);
+                names = null;
+                frozen = null;
+                lastChange = System.nanoTime();
+                System.out.println("Saved product ID: " + product.getId());
+                System.out.println();
+                if (++unsaved >= CHECKPOINT_EVERY && checkpoint(tree, snapshot, log)) {
+                    unsaved = 0;
+                }
+                continue;
+            }
+
+            boolean delete = input.regionMatches(true, 0, "delete ", 0, 7);
+            String idText = delete ? input.substring(7).trim() : input;
+
+            int productId;
+            try {
+                productId = Integer.parseInt(idText);
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid product ID: " + idText);
+                continue;
+            }
+
+            if (delete) {
+                log.delete(productId);
+                Product removed = tree.delete(productId);
+                if (removed != null) {
+                    categories.remove(removed);
+                    prices.remove(removed);
+                    names = null;
+                    frozen = null;
+                    lastChange = System.nanoTime();
+                }
+                System.out.println(removed != null
+                        ? "Deleted product ID: " + productId
+                        : "Product ID: " + productId + " not found.");
+                System.out.println();
+                if (++unsaved >= CHECKPOINT_EVERY && checkpoint(tree, snapshot, log)) {
+                    unsaved = 0;
+                }
+                continue;
+            }
+
+            Product product = lookup.search(productId);
+            if (product != null) {
+                System.out.println(product);
+            } else {
+                System.out.println("Product ID: " + productId + " not found.");
+            }
+            System.out.println();
+        }
+
+        if (unsaved > 0) {
+            checkpoint(tree, snapshot, log);
+        }
+    }
+
+    /**
+     * Lists the products matching "A AND B AND ..." or "A OR B OR ..."; the operators can't be mixed.
+     */
+    private static void searchCategories(ProductLookup tree, CategoryIndex categories, String query) {
+        boolean and = query.contains(" AND ");
+        boolean or = query.contains(" OR ");
+        if (and && or) {
+            System.out.println("Use either AND or OR in one category query, not both.");
+            return;
+        }
+
+        String[] names = query.split(and ? " AND " : " OR ");
+        for (int i = 0; i < names.length; i++) {
+            names[i] = names[i].trim();
+        }
+        int[] productIds = or ? categories.any(names) : categories.all(names);
+
+        for (int productId : productIds) {
+            System.out.println(tree.search(productId));
+            System.out.println();
+        }
+        System.out.println(productIds.length + " products in " + query);
     }
 
     /**
-     * Interactive search mode - allows user to search for products by ID
+     * Lists the products priced within "<lo> <hi>", optionally restricted to one category.
      */
-    private static void search(RedBlackTree tree) {
-        // TODO: Implement interactive search functionality
-        throw new UnsupportedOperationException("Not implemented yet.");
+    private static void searchPrices(PriceIndex prices, String query) {
+        String[] parts = query.split("\\s+", 3);
+        if (parts.length < 2) {
+            System.out.println("Invalid price range: " + query);
+            return;
+        }
+        double lo;
+        double hi;
+        try {
+            lo = Double.parseDouble(parts[0]);
+            hi = Double.parseDouble(parts[1]);
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid price range: " + query);
+            return;
+        }
+
+        List<Product> results = parts.length == 3
+                ? prices.priceRange(lo, hi, parts[2].trim())
+                : prices.priceRange(lo, hi);
+        for (Product product : results) {
+            System.out.println(product);
+            System.out.println();
+        }
+        System.out.println(results.size() + " products priced " + query);
     }
-}
\ No newline at end of file
+}
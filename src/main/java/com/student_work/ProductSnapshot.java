@@ -0,0 +1,172 @@
+package com.student_work;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of a product index, so a restart can skip CSV parsing entirely.
+ *
+ * Layout (big-endian): magic (int), version (int), category count (int), category names
+ * (length-prefixed UTF-8), product count (int), then per product in increasing id order:
+ * id (int), price (double), category count (int), category ids (int each), name length (int),
+ * name (UTF-8 bytes). A CRC32 of everything before it closes the file.
+ *
+ * Category ids are indexes into the snapshot's own table and are re-interned on load, since the
+ * dictionary of the loading process may have assigned different ids.
+ */
+final class ProductSnapshot {
+
+    static final int MAGIC = 0x50524F44;     // "PROD"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+
+    private ProductSnapshot() {
+    }
+
+    /**
+     * Writes the index to a temporary file beside path, forces it to disk and then moves it into
+     * place, so a crash or power loss never leaves a torn snapshot under the real name.
+     */
+    static void write(ProductIndex index, Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            // Every id held by a product in the tree is below the current dictionary size
+            int categories = CategoryDictionary.size();
+            out.writeInt(categories);
+            for (int i = 0; i < categories; i++) {
+                writeString(out, CategoryDictionary.name(i));
+            }
+
+            out.writeInt(index.size());
+            for (Product product : index) {
+                int[] categoryIds = product.categoryIds();
+                out.writeInt(product.getId());
+                out.writeDouble(product.getPrice());
+                out.writeInt(categoryIds.length);
+                for (int categoryId : categoryIds) {
+                    out.writeInt(categoryId);
+                }
+                writeString(out, product.getName());
+            }
+
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            // The data must be durable before the rename is, or a power loss could publish a torn file
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory entry change such as a rename to disk. Best effort: not every platform
+     * can open a directory for fsync, and the snapshot data itself is already durable.
+     */
+    static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for fsync on some platforms, e.g. Windows
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Maps the snapshot, verifies header and checksum, and hands the products, sorted by id,
+     * to an O(n) bulk builder such as RedBlackTree::fromSorted.
+     */
+    static <T extends ProductIndex> T read(Path path, Function<List<Product>, T> builder) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + size + " bytes");
+            }
+            if (size < HEADER_BYTES + CHECKSUM_BYTES) {
+                throw new IOException("Not a product snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a product snapshot: " + path);
+            }
+            int version = buffer.getInt(Integer.BYTES);
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+
+            int bodyEnd = (int) size - CHECKSUM_BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyEnd));
+            if ((int) crc.getValue() != buffer.getInt(bodyEnd)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+
+            buffer.position(HEADER_BYTES).limit(bodyEnd);
+            try {
+                return builder.apply(readProducts(buffer));
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                     | IllegalArgumentException e) {
+                throw new IOException("Corrupt snapshot: " + path, e);
+            }
+        }
+    }
+
+    private static List<Product> readProducts(MappedByteBuffer buffer) {
+        int[] globalIds = new int[buffer.getInt()];
+        for (int i = 0; i < globalIds.length; i++) {
+            globalIds[i] = CategoryDictionary.intern(readString(buffer));
+        }
+
+        int count = buffer.getInt();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = buffer.getInt();
+            double price = buffer.getDouble();
+            int[] categoryIds = new int[buffer.getInt()];
+            for (int c = 0; c < categoryIds.length; c++) {
+                categoryIds[c] = globalIds[buffer.getInt()];
+            }
+            String name = readString(buffer);
+            products.add(new Product(id, name, CategoryDictionary.canonical(categoryIds), price));
+        }
+        return products;
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,161 +1,985 @@
 package com.student_work;
 
-
-public class RedBlackTree {
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+
+public class RedBlackTree implements ProductIndex {
     private static final boolean RED = true;
     private static final boolean BLACK = false;
 
     private Node root;
-    private int size;
+
+    // Reused root-to-leaf path for iterative insert; an LLRB tree of 2^31 keys is under 64 deep
+    private Node[] path = new Node[64];
+
+    // Optional search cache, invalidated on every change to an id
+    private ProductCache cache;
+
+    // Optional id -> product hash table for O(1) point lookups, kept in sync on every change
+    private ProductHashIndex hashIndex;
 
     private static class Node {
         int productId;
         Product product;
         Node left, right;
         boolean color;
+        int count;             // Nodes in the subtree rooted here, for rank and select
 
         Node(Product product, boolean color) {
-            // TODO: Construct a node for the Red-Black Tree
-            throw new UnsupportedOperationException("Not implemented yet.");
+            this.productId = product.getId();
+            this.product = product;
+            this.color = color;
+            this.left = null;
+            this.right = null;
+            this.count = 1;
         }
     }
 
 
     public RedBlackTree() {
-        // TODO: Construct the Red-Black Tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        this.root = null;
+    }
+
+    // ==================== BULK LOADING ====================
+
+    /**
+     * Builds a tree in O(n) from products already sorted by strictly increasing id.
+     * The keys are laid out as a 2-3 tree of uniform depth and then encoded as an LLRB tree
+     * (a 3-node becomes a black node with a red left child), so the result passes validate()
+     * and is23() without a single rotation.
+     */
+    public static RedBlackTree fromSorted(List<Product> products) {
+        for (int i = 1; i < products.size(); i++) {
+            if (products.get(i - 1).getId() >= products.get(i).getId()) {
+                throw new IllegalArgumentException(
+                        "Products must be sorted by strictly increasing id at index " + i);
+            }
+        }
+
+        RedBlackTree tree = new RedBlackTree();
+        int n = products.size();
+        if (n > 0) {
+            // Tallest 2-3 tree the keys can fill: 2^h - 1 <= n, which also guarantees n <= 3^h - 1
+            int blackHeight = 31 - Integer.numberOfLeadingZeros(n + 1);
+            tree.root = build(products, 0, n, blackHeight);
+        }
+        return tree;
     }
 
+    /**
+     * Sorts products by id and bulk-loads them. When an id repeats, the last product wins,
+     * matching what repeated insert() calls would leave behind.
+     */
+    public static RedBlackTree fromProducts(Collection<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(Comparator.comparingInt(Product::getId));
+
+        List<Product> unique = new ArrayList<>(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i + 1 < sorted.size() && sorted.get(i + 1).getId() == sorted.get(i).getId()) {
+                continue;
+            }
+            unique.add(sorted.get(i));
+        }
+        return fromSorted(unique);
+    }
+
+    /**
+     * Builds the LLRB encoding of a 2-3 tree of the given black height over products[lo, lo + n).
+     */
+    private static Node build(List<Product> products, int lo, int n, int blackHeight) {
+        if (n == 0) {
+            return null;
+        }
+        long childCapacity = maxKeys(blackHeight - 1);
+
+        if (n - 1 <= 2 * childCapacity) {
+            // 2-node: one key, two subtrees
+            int leftCount = n / 2;
+            Node h = new Node(products.get(lo + leftCount), BLACK);
+            h.left = build(products, lo, leftCount, blackHeight - 1);
+            h.right = build(products, lo + leftCount + 1, n - 1 - leftCount, blackHeight - 1);
+            h.count = n;
+            return h;
+        }
+
+        // 3-node: two keys, three subtrees
+        int rest = n - 2;
+        int a = (rest + 2) / 3;
+        int b = (rest + 1) / 3;
+        int c = rest / 3;
+        Node red = new Node(products.get(lo + a), RED);
+        red.left = build(products, lo, a, blackHeight - 1);
+        red.right = build(products, lo + a + 1, b, blackHeight - 1);
+        red.count = a + b + 1;
+
+        Node h = new Node(products.get(lo + a + 1 + b), BLACK);
+        h.left = red;
+        h.right = build(products, lo + a + b + 2, c, blackHeight - 1);
+        h.count = n;
+        return h;
+    }
+
+    // Most keys a 2-3 tree of the given black height can hold: 3^h - 1
+    private static long maxKeys(int blackHeight) {
+        long capacity = 1;
+        for (int i = 0; i < blackHeight; i++) {
+            capacity *= 3;
+        }
+        return capacity - 1;
+    }
+
+    // ==================== SNAPSHOTS ====================
+
+    /**
+     * Rebuilds a tree from a snapshot written by writeSnapshot, without any text parsing.
+     * Throws IOException if the file is not a snapshot, has another version, or fails its checksum.
+     */
+    public static RedBlackTree loadSnapshot(Path path) throws IOException {
+        return ProductSnapshot.read(path, RedBlackTree::fromSorted);
+    }
 
     // ==================== VALIDATION FUNCTIONS ====================
 
     private boolean isRed(Node node) {
-        // TODO: Check if a node is red
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return node != null && node.color == RED;
     }
 
 
     private boolean isBlack(Node node) {
-        // TODO: Check if a node is black
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return node == null || node.color == BLACK;
     }
 
     // ==================== ROTATION OPERATIONS ====================
 
     private Node rotateLeft(Node h) {
-        // TODO: Perform left rotation on node h
-        throw new UnsupportedOperationException("Not implemented yet.");
+        Node x = h.right;
+        h.right = x.left;
+        x.left = h;
+        x.color = h.color;
+        h.color = RED;
+        x.count = h.count;
+        h.count = 1 + size(h.left) + size(h.right);
+        return x;
     }
 
 
     private Node rotateRight(Node h) {
-        // TODO: Perform right rotation on node h
-        throw new UnsupportedOperationException("Not implemented yet.");
+        Node x = h.left;
+        h.left = x.right;
+        x.right = h;
+        x.color = h.color;
+        h.color = RED;
+        x.count = h.count;
+        h.count = 1 + size(h.left) + size(h.right);
+        return x;
     }
 
 
     private void flipColors(Node h) {
-        // TODO: Flip the colors of node h and its children
-        throw new UnsupportedOperationException("Not implemented yet.");
+        h.color = !h.color;
+        h.left.color = !h.left.color;
+        h.right.color = !h.right.color;
     }
 
     // ==================== INSERTION ====================
 
+    /**
+     * Iterative insert: descends once while recording the path, then applies the LLRB
+     * fix-ups bottom-up along that path instead of unwinding a recursion.
+     */
+    @Override
     public void insert(Product product) {
-        // TODO: Insert a product into the Red-Black tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        int id = product.getId();
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+        int depth = 0;
+        Node h = root;
+        while (h != null) {
+            if (id == h.productId) {
+                h.product = product;
+                if (hashIndex != null) {
+                    hashIndex.put(product);
+                }
+                // Drop the recorded prefix so the reused path doesn't pin stale nodes
+                Arrays.fill(path, 0, depth, null);
+                return;
+            }
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[depth++] = h;
+            h = id < h.productId ? h.left : h.right;
+        }
+
+        if (hashIndex != null) {
+            hashIndex.put(product);
+        }
+        Node child = new Node(product, RED);
+        for (int i = depth - 1; i >= 0; i--) {
+            Node parent = path[i];
+            if (id < parent.productId) {
+                parent.left = child;
+            } else {
+                parent.right = child;
+            }
+            path[i] = null;
+            parent.count++;
+            child = fixUp(parent);
+        }
+        root = child;
+        root.color = BLACK;
+    }
+
+    private Node fixUp(Node h) {
+        if (isRed(h.right) && !isRed(h.left)) {
+            h = rotateLeft(h);
+        }
+        if (isRed(h.left) && isRed(h.left.left)) {
+            h = rotateRight(h);
+        }
+        if (isRed(h.left) && isRed(h.right)) {
+            flipColors(h);
+        }
+        return h;
+    }
+
+    /**
+     * Inserts the product, or replaces the stored product in place if its id is already present.
+     * Returns the replaced product, or null if the id was new.
+     */
+    @Override
+    public Product upsert(Product product) {
+        Node h = find(product.getId());
+        if (h != null) {
+            Product previous = h.product;
+            h.product = product;
+            if (cache != null) {
+                cache.invalidate(product.getId());
+            }
+            if (hashIndex != null) {
+                hashIndex.put(product);
+            }
+            return previous;
+        }
+        insert(product);
+        return null;
+    }
+
+    // ==================== DELETION ====================
+
+    /**
+     * Removes the product with the given id and returns it, or null if it is not present.
+     */
+    @Override
+    public Product delete(int productId) {
+        Node target = find(productId);
+        if (target == null) {
+            return null;
+        }
+        Product removed = target.product;
+        if (cache != null) {
+            cache.invalidate(productId);
+        }
+        if (hashIndex != null) {
+            hashIndex.remove(productId);
+        }
+
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = delete(root, productId);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        return removed;
+    }
+
+    private Node delete(Node h, int productId) {
+        if (productId < h.productId) {
+            if (!isRed(h.left) && !isRed(h.left.left)) {
+                h = moveRedLeft(h);
+            }
+            h.left = delete(h.left, productId);
+        } else {
+            if (isRed(h.left)) {
+                h = rotateRight(h);
+            }
+            if (productId == h.productId && h.right == null) {
+                return null;
+            }
+            if (!isRed(h.right) && !isRed(h.right.left)) {
+                h = moveRedRight(h);
+            }
+            if (productId == h.productId) {
+                // Replace with the successor, then remove the successor from the right subtree
+                Node successor = h.right;
+                while (successor.left != null) {
+                    successor = successor.left;
+                }
+                h.productId = successor.productId;
+                h.product = successor.product;
+                h.right = deleteMin(h.right);
+            } else {
+                h.right = delete(h.right, productId);
+            }
+        }
+        return balance(h);
+    }
+
+    public Product deleteMin() {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+        Product removed = min();
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = deleteMin(root);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        if (cache != null) {
+            cache.invalidate(removed.getId());
+        }
+        if (hashIndex != null) {
+            hashIndex.remove(removed.getId());
+        }
+        return removed;
+    }
+
+    private Node deleteMin(Node h) {
+        if (h.left == null) {
+            return null;
+        }
+        if (!isRed(h.left) && !isRed(h.left.left)) {
+            h = moveRedLeft(h);
+        }
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    public Product deleteMax() {
+        if (root == null) {
+            throw new NoSuchElementException("Tree is empty");
+        }
+        Product removed = max();
+        if (!isRed(root.left) && !isRed(root.right)) {
+            root.color = RED;
+        }
+        root = deleteMax(root);
+        if (root != null) {
+            root.color = BLACK;
+        }
+        if (cache != null) {
+            cache.invalidate(removed.getId());
+        }
+        if (hashIndex != null) {
+            hashIndex.remove(removed.getId());
+        }
+        return removed;
+    }
+
+    private Node deleteMax(Node h) {
+        if (isRed(h.left)) {
+            h = rotateRight(h);
+        }
+        if (h.right == null) {
+            return null;
+        }
+        if (!isRed(h.right) && !isRed(h.right.left)) {
+            h = moveRedRight(h);
+        }
+        h.right = deleteMax(h.right);
+        return balance(h);
+    }
+
+    // Borrow from the right sibling so that h.left or one of its children is red
+    private Node moveRedLeft(Node h) {
+        flipColors(h);
+        if (isRed(h.right.left)) {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    // Borrow from the left sibling so that h.right or one of its children is red
+    private Node moveRedRight(Node h) {
+        flipColors(h);
+        if (isRed(h.left.left)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
     }
 
-    private Node insert(Node h, Product product) {
-        // TODO: Implement recursive insertion with LLRB fix-up
-        throw new UnsupportedOperationException("Not implemented yet.");
+    // Restores the subtree size after a child changed, then the LLRB invariants on the way up
+    private Node balance(Node h) {
+        h.count = 1 + size(h.left) + size(h.right);
+        return fixUp(h);
     }
 
     // ==================== SEARCH ====================
 
 
+    /**
+     * Point lookup by id. With a hash index enabled this is O(1) and bypasses any cache;
+     * otherwise it goes through the cache, if set, and then down the tree.
+     */
+    @Override
     public Product search(int productId) {
-        // TODO: Search for a product by ID using binary search
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (hashIndex != null) {
+            return hashIndex.get(productId);
+        }
+        return cache == null ? lookup(productId) : cache.get(productId, this::lookup);
+    }
+
+    private Product lookup(int productId) {
+        Node h = find(productId);
+        return h == null ? null : h.product;
     }
 
-    private Product search(Node h, int productId) {
-        // TODO: Implement recursive search (optional)
-        throw new UnsupportedOperationException("Not implemented yet.");
+    /**
+     * Puts a cache in front of search, or removes it when cache is null.
+     * The cache starts empty, so one cache must not be shared between trees.
+     */
+    public void setCache(ProductCache cache) {
+        if (cache != null) {
+            cache.clear();
+        }
+        this.cache = cache;
+    }
+
+    public ProductCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Builds an id hash index over the current products and keeps it in sync from now on, so
+     * search becomes a hash probe while ordered and range queries still walk the tree.
+     * Costs one int and one reference per slot at a load factor of at most 2/3.
+     */
+    public void enableHashIndex() {
+        ProductHashIndex index = new ProductHashIndex(size());
+        for (Product product : this) {
+            index.put(product);
+        }
+        hashIndex = index;
+    }
+
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    public boolean hasHashIndex() {
+        return hashIndex != null;
+    }
+
+    private Node find(int productId) {
+        Node h = root;
+        while (h != null) {
+            if (productId < h.productId) {
+                h = h.left;
+            } else if (productId > h.productId) {
+                h = h.right;
+            } else {
+                return h;
+            }
+        }
+        return null;
+    }
+
+    // ==================== BATCH SEARCH ====================
+
+    // Below this many ids a batch is searched in the calling thread
+    private static final int PARALLEL_BATCH_THRESHOLD = 1 << 12;
+
+    /**
+     * Looks up many ids in one pass and returns the products in request order, with null for
+     * ids that are not present. The ids are sorted once and searched in order, each search
+     * resuming from the deepest node on the previous path whose subtree can hold the id, so the
+     * shared prefix of consecutive search paths is walked once instead of once per id.
+     */
+    public Product[] searchAll(int[] productIds) {
+        long[] keys = sortedKeys(productIds, false);
+        Product[] results = new Product[productIds.length];
+        searchAll(root, keys, 0, keys.length, results);
+        return results;
+    }
+
+    /**
+     * Parallel searchAll for very large batches, run in the common pool.
+     * The tree must not be modified during the call.
+     */
+    public Product[] searchAllParallel(int[] productIds) {
+        return searchAllParallel(productIds, ForkJoinPool.commonPool());
+    }
+
+    public Product[] searchAllParallel(int[] productIds, ForkJoinPool pool) {
+        long[] keys = sortedKeys(productIds, true);
+        Product[] results = new Product[productIds.length];
+        pool.invoke(new BatchSearch(root, keys, 0, keys.length, results));
+        return results;
+    }
+
+    // Packs each id with its request position (id in the high half, so signed order is kept)
+    private static long[] sortedKeys(int[] productIds, boolean parallel) {
+        long[] keys = new long[productIds.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) productIds[i] << 32) | i;
+        }
+        if (parallel) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        return keys;
+    }
+
+    private static void searchAll(Node root, long[] keys, int lo, int hi, Product[] results) {
+        // The current search path, with the open id interval each node's subtree covers
+        Node[] stack = new Node[64];
+        long[] lower = new long[64];
+        long[] upper = new long[64];
+        int depth = 0;
+
+        for (int i = lo; i < hi; i++) {
+            int productId = (int) (keys[i] >> 32);
+            while (depth > 0 && (productId <= lower[depth - 1] || productId >= upper[depth - 1])) {
+                depth--;
+            }
+
+            Node h;
+            long min;
+            long max;
+            if (depth == 0) {
+                h = root;
+                min = Long.MIN_VALUE;
+                max = Long.MAX_VALUE;
+            } else {
+                h = stack[depth - 1];
+                min = lower[depth - 1];
+                max = upper[depth - 1];
+                depth--;
+            }
+
+            while (h != null) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    lower = Arrays.copyOf(lower, depth * 2);
+                    upper = Arrays.copyOf(upper, depth * 2);
+                }
+                stack[depth] = h;
+                lower[depth] = min;
+                upper[depth] = max;
+                depth++;
+
+                if (productId < h.productId) {
+                    max = h.productId;
+                    h = h.left;
+                } else if (productId > h.productId) {
+                    min = h.productId;
+                    h = h.right;
+                } else {
+                    results[(int) keys[i]] = h.product;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Splits the sorted ids into halves until each piece is small enough to search directly
+    private static class BatchSearch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Node root;
+        private final long[] keys;
+        private final int lo, hi;
+        private final Product[] results;
+
+        BatchSearch(Node root, long[] keys, int lo, int hi, Product[] results) {
+            this.root = root;
+            this.keys = keys;
+            this.lo = lo;
+            this.hi = hi;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_BATCH_THRESHOLD) {
+                searchAll(root, keys, lo, hi, results);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new BatchSearch(root, keys, lo, mid, results),
+                    new BatchSearch(root, keys, mid, hi, results));
+        }
+    }
+
+    // ==================== ORDERED QUERIES ====================
+
+    /**
+     * Returns all products with lo <= id <= hi in id order.
+     * Subtrees entirely outside the range are never visited, so the cost is O(log n + k).
+     */
+    public List<Product> rangeSearch(int lo, int hi) {
+        List<Product> results = new ArrayList<>();
+        if (lo <= hi) {
+            rangeSearch(root, lo, hi, results);
+        }
+        return results;
+    }
+
+    private void rangeSearch(Node h, int lo, int hi, List<Product> results) {
+        if (h == null) {
+            return;
+        }
+        if (lo < h.productId) {
+            rangeSearch(h.left, lo, hi, results);
+        }
+        if (lo <= h.productId && h.productId <= hi) {
+            results.add(h.product);
+        }
+        if (hi > h.productId) {
+            rangeSearch(h.right, lo, hi, results);
+        }
+    }
+
+    public Product min() {
+        if (root == null) {
+            return null;
+        }
+        Node h = root;
+        while (h.left != null) {
+            h = h.left;
+        }
+        return h.product;
+    }
+
+    public Product max() {
+        if (root == null) {
+            return null;
+        }
+        Node h = root;
+        while (h.right != null) {
+            h = h.right;
+        }
+        return h.product;
+    }
+
+    /**
+     * Returns the product with the largest id <= productId, or null if there is none.
+     */
+    public Product floor(int productId) {
+        Node h = root;
+        Node best = null;
+        while (h != null) {
+            if (productId < h.productId) {
+                h = h.left;
+            } else if (productId > h.productId) {
+                best = h;
+                h = h.right;
+            } else {
+                return h.product;
+            }
+        }
+        return best == null ? null : best.product;
+    }
+
+    /**
+     * Returns the product with the smallest id >= productId, or null if there is none.
+     */
+    public Product ceiling(int productId) {
+        Node h = root;
+        Node best = null;
+        while (h != null) {
+            if (productId < h.productId) {
+                best = h;
+                h = h.left;
+            } else if (productId > h.productId) {
+                h = h.right;
+            } else {
+                return h.product;
+            }
+        }
+        return best == null ? null : best.product;
+    }
+
+    /**
+     * In-order iterator over all products. The tree must not be modified while iterating.
+     */
+    @Override
+    public Iterator<Product> iterator() {
+        return new InOrderIterator(root, Integer.MIN_VALUE);
+    }
+
+    /**
+     * In-order iterator starting at the first product with id >= fromId, for paginated scans.
+     */
+    public Iterator<Product> iteratorFrom(int fromId) {
+        return new InOrderIterator(root, fromId);
+    }
+
+    @Override
+    public Spliterator<Product> spliterator() {
+        return Spliterators.spliterator(iterator(), size(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Walks the tree with an explicit stack of pending ancestors, seeded with only the
+     * root-to-start path so skipped subtrees are never touched.
+     */
+    private static class InOrderIterator implements Iterator<Product> {
+        private final Deque<Node> stack = new ArrayDeque<>();
+
+        InOrderIterator(Node root, int fromId) {
+            Node h = root;
+            while (h != null) {
+                if (fromId <= h.productId) {
+                    stack.push(h);
+                    h = h.left;
+                } else {
+                    h = h.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Product next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node h = stack.pop();
+            for (Node x = h.right; x != null; x = x.left) {
+                stack.push(x);
+            }
+            return h.product;
+        }
+    }
+
+    // ==================== ORDER STATISTICS ====================
+
+    /**
+     * Returns the number of products with id < productId.
+     */
+    public int rank(int productId) {
+        int rank = 0;
+        Node h = root;
+        while (h != null) {
+            if (productId < h.productId) {
+                h = h.left;
+            } else if (productId > h.productId) {
+                rank += 1 + size(h.left);
+                h = h.right;
+            } else {
+                return rank + size(h.left);
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the product with the given 0-based rank in id order.
+     */
+    public Product select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IllegalArgumentException("Rank out of range: " + rank);
+        }
+        Node h = root;
+        while (true) {
+            int leftSize = size(h.left);
+            if (rank < leftSize) {
+                h = h.left;
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                h = h.right;
+            } else {
+                return h.product;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of products with lo <= id <= hi.
+     */
+    public int countInRange(int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        int count = rank(hi) - rank(lo);
+        return find(hi) != null ? count + 1 : count;
     }
 
     // ==================== VALIDATION ====================
 
     public boolean validate() {
-        // TODO: Implement comprehensive validation
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (root == null) {
+            return true;
+        }
+        boolean valid = true;
+        if (isRed(root)) {
+            System.out.println("Root is not black");
+            valid = false;
+        }
+        if (!validateNoRightRed(root)) {
+            valid = false;
+        }
+        if (!validateNoConsecutiveReds(root)) {
+            valid = false;
+        }
+        if (validateBlackHeight(root) < 0) {
+            System.out.println("Black balance violated");
+            valid = false;
+        }
+        if (!validateSizes(root)) {
+            valid = false;
+        }
+        return valid;
+    }
+
+    private boolean validateSizes(Node h) {
+        if (h == null) {
+            return true;
+        }
+        if (h.count != 1 + size(h.left) + size(h.right)) {
+            System.out.println("Subtree size mismatch at product " + h.productId);
+            return false;
+        }
+        return validateSizes(h.left) && validateSizes(h.right);
     }
 
     private boolean validateNoRightRed(Node h) {
-        // TODO: Recursively check that no node has a red right child and black left child
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (h == null) {
+            return true;
+        }
+        if (isRed(h.right)) {
+            System.out.println("Right-leaning red link at product " + h.productId);
+            return false;
+        }
+        return validateNoRightRed(h.left) && validateNoRightRed(h.right);
     }
 
     private boolean validateNoConsecutiveReds(Node h) {
-        // TODO: Recursively check no red node has red children
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (h == null) {
+            return true;
+        }
+        if (isRed(h) && (isRed(h.left) || isRed(h.right))) {
+            System.out.println("Two consecutive red links at product " + h.productId);
+            return false;
+        }
+        return validateNoConsecutiveReds(h.left) && validateNoConsecutiveReds(h.right);
     }
 
     private int validateBlackHeight(Node h) {
-        // TODO: Recursively compute and verify black height
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (h == null) {
+            return 0;
+        }
+        int left = validateBlackHeight(h.left);
+        int right = validateBlackHeight(h.right);
+        if (left < 0 || right < 0 || left != right) {
+            return -1;
+        }
+        return left + (isBlack(h) ? 1 : 0);
     }
 
     public boolean is23() {
-        // TODO: Check 2-3 tree properties
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return is23(root);
     }
 
     private boolean is23(Node h) {
-        // TODO: Recursively validate 2-3 tree property
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (h == null) {
+            return true;
+        }
+        if (isRed(h.right)) {
+            return false;
+        }
+        if (h != root && isRed(h) && isRed(h.left)) {
+            return false;
+        }
+        return is23(h.left) && is23(h.right);
     }
 
 
     // ==================== UTILITY FUNCTIONS ====================
 
+    @Override
     public int size() {
-        // TODO: Return the number of nodes in the tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return size(root);
+    }
+
+    private int size(Node node) {
+        return node == null ? 0 : node.count;
     }
 
+    @Override
     public boolean isEmpty() {
-        // TODO: Check if the tree is empty
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return root == null;
     }
 
+    @Override
     public int height() {
-        // TODO: Return the height of the tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return height(root);
     }
 
     private int height(Node node) {
-        // TODO: Calculate the height of the tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (node == null) {
+            return 0;
+        }
+        return 1 + Math.max(height(node.left), height(node.right));
     }
 
     public int countRedLinks() {
-        // TODO: Count red nodes (each red node represents a red link from its parent)
-        throw new UnsupportedOperationException("Not implemented yet.");
+        return countRedLinks(root);
     }
 
     private int countRedLinks(Node h) {
-        // TODO: Count red nodes recursively
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (h == null) {
+            return 0;
+        }
+        return (isRed(h) ? 1 : 0) + countRedLinks(h.left) + countRedLinks(h.right);
     }
 
     public void printTree() {
-        //TODO: Print tree structure with colors
-        throw new UnsupportedOperationException("Not implemented yet.");
+        if (root == null) {
+            System.out.println("(empty tree)");
+            return;
+        }
+        printTreeHelper(root, "", true);
     }
 
     private void printTreeHelper(Node node, String prefix, boolean isTail) {
-        //TODO: recursive helper to printing the tree
-        throw new UnsupportedOperationException("Not implemented yet.");
+        System.out.println(prefix + (isTail ? "`-- " : "|-- ") + node.productId
+                + (isRed(node) ? " (RED)" : " (BLACK)"));
+        String childPrefix = prefix + (isTail ? "    " : "|   ");
+        if (node.right != null) {
+            printTreeHelper(node.right, childPrefix, node.left == null);
+        }
+        if (node.left != null) {
+            printTreeHelper(node.left, childPrefix, true);
+        }
     }
-}
\ No newline at end of file
+}
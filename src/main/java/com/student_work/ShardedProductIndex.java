@@ -0,0 +1,145 @@
+package com.student_work;
+
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Product index partitioned by hashed id across independent RedBlackTree shards.
+ * Each shard has its own read-write lock, so writers to different shards proceed in parallel
+ * and readers only wait for a writer on the same shard.
+ */
+public class ShardedProductIndex {
+    private final RedBlackTree[] shards;
+    private final ReentrantReadWriteLock[] locks;
+
+    public ShardedProductIndex() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ShardedProductIndex(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        shards = new RedBlackTree[shardCount];
+        locks = new ReentrantReadWriteLock[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new RedBlackTree();
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    private int shardOf(int productId) {
+        // Fibonacci hashing spreads sequential ids evenly over the shards
+        int mixed = productId * 0x9E3779B9;
+        return Math.floorMod(mixed ^ (mixed >>> 16), shards.length);
+    }
+
+    public void insert(Product product) {
+        int shard = shardOf(product.getId());
+        locks[shard].writeLock().lock();
+        try {
+            shards[shard].insert(product);
+        } finally {
+            locks[shard].writeLock().unlock();
+        }
+    }
+
+    public Product search(int productId) {
+        int shard = shardOf(productId);
+        locks[shard].readLock().lock();
+        try {
+            return shards[shard].search(productId);
+        } finally {
+            locks[shard].readLock().unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < shards.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                size += shards[i].size();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Visits every product in id order by k-way merging the shards' in-order iterators.
+     * The merge runs with all shards read-locked, so the visit sees one consistent state; the
+     * action runs on the merged copy after the locks are released, so it may update this index
+     * (those updates are not part of the visit).
+     */
+    public void forEachInOrder(Consumer<? super Product> action) {
+        for (Product product : mergeInOrder()) {
+            action.accept(product);
+        }
+    }
+
+    private Product[] mergeInOrder() {
+        for (ReentrantReadWriteLock lock : locks) {
+            lock.readLock().lock();
+        }
+        try {
+            int size = 0;
+            PriorityQueue<Cursor> heads = new PriorityQueue<>(shards.length);
+            for (RedBlackTree shard : shards) {
+                size += shard.size();
+                Iterator<Product> iterator = shard.iterator();
+                if (iterator.hasNext()) {
+                    heads.add(new Cursor(iterator));
+                }
+            }
+            Product[] merged = new Product[size];
+            int next = 0;
+            while (!heads.isEmpty()) {
+                Cursor cursor = heads.poll();
+                merged[next++] = cursor.current;
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+            return merged;
+        } finally {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].readLock().unlock();
+            }
+        }
+    }
+
+    private static class Cursor implements Comparable<Cursor> {
+        private final Iterator<Product> iterator;
+        private Product current;
+
+        Cursor(Iterator<Product> iterator) {
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor o) {
+            return Integer.compare(current.getId(), o.current.getId());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+import com.student_work.ArrayRedBlackTree;
+import com.student_work.OffHeapProductStore;
+import com.student_work.Product;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the array-backed LLRB tree.
+ * The structure must match RedBlackTree node for node, so shape metrics are compared directly.
+ */
+class ArrayRedBlackTreeTest {
+
+    @Test
+    @DisplayName("Empty tree is valid with size and height 0")
+    void emptyTree() {
+        ArrayRedBlackTree tree = new ArrayRedBlackTree();
+
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.height());
+        assertTrue(tree.validate());
+        assertTrue(tree.is23());
+        assertNull(tree.search(1));
+    }
+
+    @Test
+    @DisplayName("Sequential inserts stay valid while the arrays grow")
+    void sequentialInserts_growAndStayValid() {
+        ArrayRedBlackTree ascending = new ArrayRedBlackTree(1);
+        ArrayRedBlackTree descending = new ArrayRedBlackTree(1);
+        for (int i = 1; i <= 1000; i++) {
+            ascending.insert(new Product(i, "Product" + i, "Cat", i));
+            descending.insert(new Product(1001 - i, "Product" + i, "Cat", i));
+        }
+
+        for (ArrayRedBlackTree tree : new ArrayRedBlackTree[]{ascending, descending}) {
+            assertTrue(tree.validate());
+            assertTrue(tree.is23());
+            assertEquals(1000, tree.size());
+            assertEquals(500, tree.search(500).getId());
+            assertNull(tree.search(1001));
+        }
+    }
+
+    @Test
+    @DisplayName("Same shape as RedBlackTree for the same insert sequence")
+    void randomInserts_matchPointerTree() {
+        ArrayRedBlackTree arrayTree = new ArrayRedBlackTree();
+        RedBlackTree pointerTree = new RedBlackTree();
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            Product product = new Product(random.nextInt(8000), "Product" + i, "Cat", i);
+            arrayTree.insert(product);
+            pointerTree.insert(product);
+        }
+
+        assertTrue(arrayTree.validate());
+        assertEquals(pointerTree.size(), arrayTree.size());
+        assertEquals(pointerTree.height(), arrayTree.height());
+        assertEquals(pointerTree.countRedLinks(), arrayTree.countRedLinks());
+        for (int id = 0; id < 8000; id++) {
+            assertSame(pointerTree.search(id), arrayTree.search(id));
+        }
+    }
+
+    @Test
+    @DisplayName("Duplicate id replaces the product without growing the tree")
+    void duplicateInsert_updatesProduct() {
+        ArrayRedBlackTree tree = new ArrayRedBlackTree();
+        tree.insert(new Product(1, "Original", "Cat1", 10.0));
+        tree.insert(new Product(1, "Updated", "Cat2", 20.0));
+
+        assertEquals(1, tree.size());
+        assertEquals("Updated", tree.search(1).getName());
+    }
+
+    @Test
+    @DisplayName("Off-heap tree materializes products equal to the inserted ones")
+    void offHeapStore_roundTripsProducts() {
+        OffHeapProductStore store = new OffHeapProductStore(256);
+        ArrayRedBlackTree tree = new ArrayRedBlackTree(store);
+        for (int i = 1; i <= 500; i++) {
+            tree.insert(new Product(i, "Sony " + i + "\" OLED TV, Smart", "Electronics|Home Entertainment|TVs", i + 0.99));
+        }
+        tree.insert(new Product(7, "Caf\u00e9 Cr\u00e8me", "Grocery", 12.0));
+
+        assertTrue(tree.validate());
+        assertEquals(500, tree.size());
+        assertEquals(501, store.records());
+        Product found = tree.search(250);
+        assertEquals(250, found.getId());
+        assertEquals("Sony 250\" OLED TV, Smart", found.getName());
+        assertEquals("Electronics|Home Entertainment|TVs", found.getCategory());
+        assertEquals(250.99, found.getPrice());
+        assertEquals("Caf\u00e9 Cr\u00e8me", tree.search(7).getName());
+        assertNull(tree.search(501));
+    }
+
+    @Test
+    @DisplayName("Off-heap store gives oversized records their own segment")
+    void offHeapStore_oversizedRecord() {
+        OffHeapProductStore store = new OffHeapProductStore(64);
+        String longName = "x".repeat(1000);
+
+        long address = store.add(new Product(1, longName, "Cat", 1.0));
+
+        assertEquals(longName, store.read(address).getName());
+        assertEquals(1, store.readId(address));
+        assertEquals(1.0, store.readPrice(address));
+    }
+}
@@ -0,0 +1,169 @@
+import com.student_work.BPlusTree;
+import com.student_work.ChangeLog;
+import com.student_work.Product;
+import com.student_work.ProductIndex;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the B+-tree product index.
+ */
+class BPlusTreeTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Integer> ids(Iterable<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Empty tree has height 1 and finds nothing")
+    void emptyTree() {
+        BPlusTree tree = new BPlusTree();
+
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertEquals(1, tree.height());
+        assertNull(tree.search(1));
+        assertNull(tree.delete(1));
+        assertFalse(tree.iterator().hasNext());
+    }
+
+    @Test
+    @DisplayName("Sequential inserts split nodes and keep every product reachable in order")
+    void sequentialInsert_splitsAndStaysOrdered() {
+        BPlusTree tree = new BPlusTree();
+        for (int i = 0; i < 100000; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", 1.0));
+        }
+
+        assertEquals(100000, tree.size());
+        assertTrue(tree.height() >= 3 && tree.height() <= 4, "Height was " + tree.height());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals(i, tree.search(i).getId());
+        }
+        assertNull(tree.search(100000));
+        assertNull(tree.search(-1));
+
+        int expected = 0;
+        for (Product product : tree) {
+            assertEquals(expected++, product.getId());
+        }
+        assertEquals(100000, expected);
+    }
+
+    @Test
+    @DisplayName("Random inserts, upserts and deletes match a TreeMap")
+    void randomOperations_matchTreeMap() {
+        Random random = new Random(24);
+        BPlusTree tree = new BPlusTree();
+        TreeMap<Integer, Product> expected = new TreeMap<>();
+
+        for (int step = 0; step < 50000; step++) {
+            int id = random.nextInt(20000) - 10000;
+            Product product = new Product(id, "Product" + step, "Cat", 1.0);
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertSame(expected.remove(id), tree.delete(id));
+                    break;
+                case 1:
+                    assertSame(expected.put(id, product), tree.upsert(product));
+                    break;
+                default:
+                    expected.put(id, product);
+                    tree.insert(product);
+                    break;
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        assertEquals(new ArrayList<>(expected.keySet()), ids(tree));
+        for (int id = -10001; id <= 10000; id++) {
+            assertSame(expected.get(id), tree.search(id), "Search for " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Extreme ids are stored and found")
+    void extremeIds() {
+        BPlusTree tree = new BPlusTree();
+        for (int i = 0; i < 500; i++) {
+            tree.insert(new Product(Integer.MAX_VALUE - i, "High" + i, "Cat", 1.0));
+            tree.insert(new Product(Integer.MIN_VALUE + i, "Low" + i, "Cat", 1.0));
+        }
+
+        assertEquals("High0", tree.search(Integer.MAX_VALUE).getName());
+        assertEquals("Low0", tree.search(Integer.MIN_VALUE).getName());
+        assertEquals(Integer.MIN_VALUE, (int) ids(tree).get(0));
+        assertEquals(1000, tree.size());
+    }
+
+    @Test
+    @DisplayName("fromSorted packs a shallow tree that keeps accepting inserts")
+    void fromSorted_thenInsert() {
+        for (int n : new int[]{0, 1, 64, 65, 4160, 4161, 100000}) {
+            List<Product> products = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                products.add(new Product(i * 2, "Product" + i, "Cat", 1.0));
+            }
+            BPlusTree tree = BPlusTree.fromSorted(products);
+
+            assertEquals(n, tree.size());
+            assertEquals(ids(products), ids(tree));
+            for (int i = 0; i < n; i++) {
+                assertSame(products.get(i), tree.search(i * 2));
+            }
+            for (int i = 0; i < Math.min(n, 1000); i++) {
+                tree.insert(new Product(i * 2 + 1, "Odd" + i, "Cat", 1.0));
+            }
+            for (int i = 0; i < Math.min(n, 1000); i++) {
+                assertEquals("Odd" + i, tree.search(i * 2 + 1).getName());
+                assertSame(products.get(i), tree.search(i * 2));
+            }
+        }
+
+        List<Product> unsorted = List.of(new Product(2, "B", "Cat", 1.0), new Product(1, "A", "Cat", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> BPlusTree.fromSorted(unsorted));
+    }
+
+    @Test
+    @DisplayName("Snapshots and change logs work through the ProductIndex interface")
+    void snapshotAndChangeLog_roundTrip() throws IOException {
+        ProductIndex original = new RedBlackTree();
+        for (int i = 1; i <= 1000; i++) {
+            original.insert(new Product(i, "Product" + i, "Cat|Sub", i * 0.5));
+        }
+        Path snapshot = tempDir.resolve("products.snapshot");
+        original.writeSnapshot(snapshot);
+
+        Path logPath = tempDir.resolve("products.log");
+        try (ChangeLog log = ChangeLog.open(logPath)) {
+            log.put(new Product(5000, "New", "Cat", 9.99));
+            log.delete(1);
+        }
+
+        BPlusTree loaded = BPlusTree.loadSnapshot(snapshot);
+        assertEquals(2, ChangeLog.replay(logPath, loaded));
+
+        assertEquals(1000, loaded.size());
+        assertNull(loaded.search(1));
+        assertEquals("New", loaded.search(5000).getName());
+        assertEquals("Cat|Sub", loaded.search(500).getCategory());
+    }
+}
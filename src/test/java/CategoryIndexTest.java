@@ -0,0 +1,112 @@
+import com.student_work.CategoryIndex;
+import com.student_work.Product;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the inverted category index.
+ */
+class CategoryIndexTest {
+
+    @Test
+    @DisplayName("Posting lists hold the sorted ids of each category")
+    void productIds_perCategory() {
+        CategoryIndex index = new CategoryIndex();
+        index.add(new Product(30, "Cable", "CiElectronics|CiAccessories", 9.99));
+        index.add(new Product(10, "TV", "CiElectronics|CiTVs", 999.99));
+        index.add(new Product(20, "Case", "CiAccessories", 19.99));
+
+        assertArrayEquals(new int[]{10, 30}, index.productIds("CiElectronics"));
+        assertArrayEquals(new int[]{20, 30}, index.productIds("CiAccessories"));
+        assertEquals(1, index.count("CiTVs"));
+        assertArrayEquals(new int[0], index.productIds("CiNeverSeen"));
+    }
+
+    @Test
+    @DisplayName("AND intersects and OR unions category lists")
+    void allAndAny() {
+        RedBlackTree tree = new RedBlackTree();
+        tree.insert(new Product(1, "TV", "CqElectronics|CqTVs", 999.99));
+        tree.insert(new Product(2, "Cable", "CqElectronics|CqAccessories", 9.99));
+        tree.insert(new Product(3, "Case", "CqAccessories", 19.99));
+        tree.insert(new Product(4, "Charger", "CqElectronics|CqAccessories", 29.99));
+        CategoryIndex index = CategoryIndex.of(tree);
+
+        assertArrayEquals(new int[]{2, 4}, index.all("CqElectronics", "CqAccessories"));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, index.any("CqTVs", "CqAccessories", "CqElectronics"));
+        assertArrayEquals(new int[]{1, 2, 4}, index.any("CqElectronics", "CqNeverSeen"));
+        assertArrayEquals(new int[0], index.all("CqElectronics", "CqNeverSeen"));
+        assertArrayEquals(new int[0], index.all());
+    }
+
+    @Test
+    @DisplayName("Remove keeps the index in sync with upserts and deletes")
+    void remove_afterUpsertAndDelete() {
+        CategoryIndex index = new CategoryIndex();
+        Product tv = new Product(1, "TV", "CrElectronics", 999.99);
+        index.add(tv);
+        index.add(new Product(2, "Cable", "CrElectronics", 9.99));
+
+        Product moved = new Product(1, "TV", "CrClearance", 499.99);
+        index.remove(tv);
+        index.add(moved);
+        assertArrayEquals(new int[]{2}, index.productIds("CrElectronics"));
+        assertArrayEquals(new int[]{1}, index.productIds("CrClearance"));
+
+        index.remove(moved);
+        assertArrayEquals(new int[0], index.productIds("CrClearance"));
+    }
+
+    @Test
+    @DisplayName("Random queries match a brute-force scan")
+    void randomQueries_matchBruteForce() {
+        Random random = new Random(18);
+        String[] names = {"CzA", "CzB", "CzC", "CzD", "CzE"};
+        List<Product> products = new ArrayList<>();
+        CategoryIndex index = new CategoryIndex();
+        for (int i = 0; i < 3000; i++) {
+            // Skewed membership so intersections mix short and long lists
+            StringBuilder category = new StringBuilder(names[random.nextInt(names.length)]);
+            for (int c = 0; c < names.length; c++) {
+                if (random.nextInt(1 << c) == 0) {
+                    category.append('|').append(names[c]);
+                }
+            }
+            Product product = new Product(random.nextInt(10000), "P" + i, category.toString(), 1.0);
+            for (Product p : products) {
+                if (p.getId() == product.getId()) {
+                    index.remove(p);
+                }
+            }
+            products.removeIf(p -> p.getId() == product.getId());
+            products.add(product);
+            index.add(product);
+        }
+
+        for (int trial = 0; trial < 50; trial++) {
+            String a = names[random.nextInt(names.length)];
+            String b = names[random.nextInt(names.length)];
+            assertArrayEquals(scan(products, a, b, true), index.all(a, b), a + " AND " + b);
+            assertArrayEquals(scan(products, a, b, false), index.any(a, b), a + " OR " + b);
+        }
+    }
+
+    private static int[] scan(List<Product> products, String a, String b, boolean and) {
+        return products.stream()
+                .filter(p -> {
+                    List<String> categories = List.of(p.getCategory().split("\\|"));
+                    return and ? categories.contains(a) && categories.contains(b)
+                            : categories.contains(a) || categories.contains(b);
+                })
+                .mapToInt(Product::getId)
+                .sorted()
+                .toArray();
+    }
+}
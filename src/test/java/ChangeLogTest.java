@@ -0,0 +1,116 @@
+import com.student_work.ChangeLog;
+import com.student_work.Product;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the write-ahead change log.
+ */
+class ChangeLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Replay over a snapshot applies inserts, updates and deletes in order")
+    void replay_overSnapshot_appliesChanges() throws IOException {
+        RedBlackTree original = new RedBlackTree();
+        for (int i = 1; i <= 100; i++) {
+            original.insert(new Product(i, "Product" + i, "Cat", 10.0));
+        }
+        Path snapshot = tempDir.resolve("products.snapshot");
+        original.writeSnapshot(snapshot);
+
+        Path logPath = tempDir.resolve("products.log");
+        try (ChangeLog log = ChangeLog.open(logPath, 4)) {
+            log.put(new Product(101, "Sony 65\" OLED TV, Smart", "Electronics|TVs", 1999.99));
+            log.put(new Product(50, "Product50", "Cat", 7.5));
+            log.delete(3);
+            log.put(new Product(3, "Back again", "Cat|Sub", 1.0));
+            log.delete(99);
+        }
+
+        RedBlackTree tree = RedBlackTree.loadSnapshot(snapshot);
+        assertEquals(5, ChangeLog.replay(logPath, tree));
+
+        assertEquals(100, tree.size());
+        assertEquals("Sony 65\" OLED TV, Smart", tree.search(101).getName());
+        assertEquals("Electronics|TVs", tree.search(101).getCategory());
+        assertEquals(7.5, tree.search(50).getPrice());
+        assertEquals("Back again", tree.search(3).getName());
+        assertNull(tree.search(99));
+        assertTrue(tree.validate());
+
+        // Replaying the same log again leaves the tree unchanged
+        assertEquals(5, ChangeLog.replay(logPath, tree));
+        assertEquals(100, tree.size());
+    }
+
+    @Test
+    @DisplayName("Replay of a missing log applies nothing")
+    void replay_missingLog_isNoOp() throws IOException {
+        RedBlackTree tree = new RedBlackTree();
+        assertEquals(0, ChangeLog.replay(tempDir.resolve("missing.log"), tree));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    @DisplayName("A torn tail record is skipped on replay and truncated on reopen")
+    void tornTail_isDroppedAndLogStaysAppendable() throws IOException {
+        Path logPath = tempDir.resolve("products.log");
+        try (ChangeLog log = ChangeLog.open(logPath)) {
+            log.put(new Product(1, "One", "Cat", 1.0));
+            log.put(new Product(2, "Two", "Cat", 2.0));
+        }
+        byte[] bytes = Files.readAllBytes(logPath);
+        Files.write(logPath, Arrays.copyOf(bytes, bytes.length - 3));
+
+        RedBlackTree tree = new RedBlackTree();
+        assertEquals(1, ChangeLog.replay(logPath, tree));
+        assertNull(tree.search(2));
+
+        try (ChangeLog log = ChangeLog.open(logPath)) {
+            log.put(new Product(3, "Three", "Cat", 3.0));
+        }
+        tree = new RedBlackTree();
+        assertEquals(2, ChangeLog.replay(logPath, tree));
+        assertNotNull(tree.search(1));
+        assertNotNull(tree.search(3));
+    }
+
+    @Test
+    @DisplayName("sync makes buffered records visible and truncate discards them")
+    void syncAndTruncate() throws IOException {
+        Path logPath = tempDir.resolve("products.log");
+        try (ChangeLog log = ChangeLog.open(logPath, 1000)) {
+            log.put(new Product(1, "One", "Cat", 1.0));
+            assertEquals(0, ChangeLog.replay(logPath, new RedBlackTree()));
+
+            log.sync();
+            assertEquals(1, ChangeLog.replay(logPath, new RedBlackTree()));
+
+            log.truncate();
+            assertEquals(0, ChangeLog.replay(logPath, new RedBlackTree()));
+        }
+    }
+
+    @Test
+    @DisplayName("Files that are not change logs are rejected")
+    void rejectsForeignFiles() throws IOException {
+        Path csv = tempDir.resolve("products.csv");
+        Files.write(csv, Arrays.asList("1,Widget,Tools,9.99"));
+
+        assertThrows(IOException.class, () -> ChangeLog.replay(csv, new RedBlackTree()));
+        assertThrows(IOException.class, () -> ChangeLog.open(csv));
+        assertThrows(IllegalArgumentException.class, () -> ChangeLog.open(tempDir.resolve("x.log"), 0));
+    }
+}
@@ -0,0 +1,127 @@
+import com.student_work.ConcurrentRedBlackTree;
+import com.student_work.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the copy-on-write LLRB tree with lock-free readers.
+ */
+class ConcurrentRedBlackTreeTest {
+
+    @Test
+    @DisplayName("Inserts keep the LLRB invariants and update duplicates")
+    void insert_keepsInvariants() {
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+        Random random = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            int id = random.nextInt(4000);
+            tree.insert(new Product(id, "Product" + i, "Cat", i));
+            assertEquals("Product" + i, tree.search(id).getName());
+        }
+
+        assertTrue(tree.validate());
+        assertTrue(tree.is23());
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        for (Product product : tree) {
+            assertTrue(product.getId() > previous);
+            previous = product.getId();
+            count++;
+        }
+        assertEquals(tree.size(), count);
+    }
+
+    @Test
+    @DisplayName("An iterator keeps seeing the snapshot it started from")
+    void iterator_isSnapshot() {
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+        for (int i = 1; i <= 10; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+
+        Iterator<Product> snapshot = tree.iterator();
+        for (int i = 11; i <= 20; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+
+        int count = 0;
+        while (snapshot.hasNext()) {
+            snapshot.next();
+            count++;
+        }
+        assertEquals(10, count);
+        assertEquals(20, tree.size());
+    }
+
+    @Test
+    @DisplayName("insertAll publishes a batch at once")
+    void insertAll_publishesBatch() {
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new Product(i, "Product" + i, "Cat", i));
+        }
+
+        tree.insertAll(batch);
+
+        assertEquals(1000, tree.size());
+        assertTrue(tree.validate());
+    }
+
+    @Test
+    @DisplayName("Readers never miss an id once a concurrent writer has published it")
+    void concurrentReaders_seeMonotonicSnapshots() throws InterruptedException {
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+        int total = 20000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                tree.insert(new Product(i, "Product" + i, "Cat", i));
+            }
+            done.set(true);
+        });
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            readers.add(new Thread(() -> {
+                try {
+                    int lastSize = 0;
+                    while (!done.get()) {
+                        int size = tree.size();
+                        assertTrue(size >= lastSize, "Size went backwards");
+                        // Ids are inserted in order, so every id below a published size must be visible
+                        if (size > 0) {
+                            assertNotNull(tree.search(size - 1));
+                            assertNotNull(tree.search(0));
+                        }
+                        lastSize = size;
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            }));
+        }
+
+        readers.forEach(Thread::start);
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(total, tree.size());
+        assertTrue(tree.validate());
+    }
+}
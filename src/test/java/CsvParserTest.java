@@ -1,3 +1,4 @@
+import com.student_work.CategoryDictionary;
 import com.student_work.CsvParser;
 import com.student_work.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -5,10 +6,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -146,6 +154,200 @@ class CsvParserTest {
         }, "Should throw IOException for non-existent file");
     }
 
+    // ========== streamCsv Tests ==========
+
+    @Test
+    void streamCsv_yieldsProductsInFileOrder() throws IOException {
+        Files.write(testCsvFile, Arrays.asList(
+                "1001,Wireless Mouse,Electronics|Accessories,29.99",
+                "1002,\"Apple iPhone 14, 128GB\",Smartphones|Electronics,999.99",
+                "1003,\"Book: \"\"The Art of War\"\"\",Books|Classics,14.99"
+        ));
+
+        List<Product> products;
+        try (Stream<Product> stream = CsvParser.streamCsv(testCsvFile.toString())) {
+            products = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(3, products.size());
+        assertEquals(1001, products.get(0).getId());
+        assertEquals("Apple iPhone 14, 128GB", products.get(1).getName());
+        assertEquals("Book: \"The Art of War\"", products.get(2).getName());
+    }
+
+    @Test
+    void streamCsv_skipsBlankAndMalformedLines() throws IOException {
+        Files.write(testCsvFile, Arrays.asList(
+                "1,Widget,Electronics,29.99",
+                "",
+                "2,BadLine,TooFewFields",
+                "3,Gadget,Home,15.50"
+        ));
+
+        try (Stream<Product> stream = CsvParser.streamCsv(testCsvFile.toString())) {
+            assertEquals(2, stream.count());
+        }
+    }
+
+    @Test
+    void streamCsv_isLazy() throws IOException {
+        Files.write(testCsvFile, Arrays.asList(
+                "1,Widget,Electronics,29.99",
+                "2,Gadget,Home,15.50"
+        ));
+
+        try (Stream<Product> stream = CsvParser.streamCsv(testCsvFile.toString())) {
+            assertEquals(1, stream.findFirst().orElseThrow().getId());
+        }
+    }
+
+    @Test
+    void streamCsv_nonExistentFile_throwsIOException() {
+        Path nonExistent = tempDir.resolve("does_not_exist.csv");
+
+        assertThrows(IOException.class, () -> CsvParser.streamCsv(nonExistent.toString()));
+    }
+
+    // ========== parseCsvMapped Tests ==========
+
+    @Test
+    void parseCsvMapped_matchesLineParser() throws IOException {
+        Files.write(testCsvFile, Arrays.asList(
+                "1001,Wireless Mouse,Electronics|Accessories,29.99",
+                "1002,\"Apple iPhone 14, 128GB\",Smartphones|Electronics,999.99",
+                "",
+                "1003,\"Book: \"\"The Art of War\"\"\",Books|Classics,14.99",
+                "1004,BadLine,TooFewFields",
+                "1005,\"Sony 65\"\" OLED TV, Smart\",\"Electronics|Home Entertainment|TVs\",1899.99"
+        ));
+
+        List<Product> expected = CsvParser.parseCsv(testCsvFile.toString());
+        List<Product> actual = CsvParser.parseCsvMapped(testCsvFile.toString());
+
+        assertEquals(4, actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getCategory(), actual.get(i).getCategory());
+            assertEquals(expected.get(i).getPrice(), actual.get(i).getPrice());
+        }
+    }
+
+    @Test
+    void parseCsvMapped_crlfAndMissingTrailingNewline() throws IOException {
+        Files.write(testCsvFile,
+                "1,Widget,Electronics,29.99\r\n2,\"Gadget, Pro\",Home,15.50".getBytes(StandardCharsets.UTF_8));
+
+        List<Product> products = CsvParser.parseCsvMapped(testCsvFile.toString());
+
+        assertEquals(2, products.size());
+        assertEquals(29.99, products.get(0).getPrice());
+        assertEquals("Gadget, Pro", products.get(1).getName());
+        assertEquals(15.50, products.get(1).getPrice());
+    }
+
+    @Test
+    void parseCsvMapped_loneCarriageReturn_endsRecordLikeParseCsv() throws IOException {
+        Files.write(testCsvFile, ("1,Widget,Electronics,29.99\r2,\"Gadget\rPro\",Home,15.50\r\r\n"
+                + "3,Lamp,Home,9.99\r").getBytes(StandardCharsets.UTF_8));
+
+        List<Product> expected = CsvParser.parseCsv(testCsvFile.toString());
+        List<Product> actual = CsvParser.parseCsvMapped(testCsvFile.toString());
+
+        assertEquals(2, actual.size());
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+        }
+    }
+
+    @Test
+    void parseCsvMapped_nonAsciiNames() throws IOException {
+        Files.write(testCsvFile, Arrays.asList("7,\"Caf\u00e9 Cr\u00e8me, 1kg\",Grocery,12.00"),
+                StandardCharsets.UTF_8);
+
+        List<Product> products = CsvParser.parseCsvMapped(testCsvFile.toString());
+
+        assertEquals("Caf\u00e9 Cr\u00e8me, 1kg", products.get(0).getName());
+    }
+
+    @Test
+    void parseCsvMapped_emptyFile_returnsEmptyList() throws IOException {
+        Files.write(testCsvFile, new byte[0]);
+
+        assertTrue(CsvParser.parseCsvMapped(testCsvFile.toString()).isEmpty());
+    }
+
+    // ========== parseCsvParallel Tests ==========
+
+    @Test
+    void parseCsvParallel_multipleChunks_preservesFileOrder() throws IOException {
+        // Large enough to be split into several chunks, with quoted commas and escaped quotes throughout
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 60000; i++) {
+            lines.add(i % 2 == 0
+                    ? i + ",\"Sony " + i + "\"\" OLED TV, Smart\",Electronics|Home Entertainment|TVs,1899.99"
+                    : i + ",Gaming Keyboard,Electronics|Gaming|Accessories,79.99");
+        }
+        Files.write(testCsvFile, lines);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<Product> products;
+        try {
+            products = CsvParser.parseCsvParallel(testCsvFile.toString(), pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(60000, products.size());
+        for (int i = 0; i < products.size(); i++) {
+            assertEquals(i + 1, products.get(i).getId());
+        }
+        assertEquals("Sony 2\" OLED TV, Smart", products.get(1).getName());
+    }
+
+    @Test
+    void parseCsvParallel_failingAction_noCallsAfterThrow() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 60000; i++) {
+            lines.add(i + ",Gaming Keyboard,Electronics|Gaming|Accessories,79.99");
+        }
+        Files.write(testCsvFile, lines);
+        AtomicInteger calls = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertThrows(IllegalStateException.class, () -> CsvParser.parseCsvParallel(testCsvFile.toString(), pool,
+                    product -> {
+                        calls.incrementAndGet();
+                        if (product.getId() == 1) {
+                            throw new IllegalStateException("Rejected product 1");
+                        }
+                    }));
+            int callsAtThrow = calls.get();
+            Thread.sleep(100);
+            assertEquals(callsAtThrow, calls.get(), "No chunk was still running after the throw");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parseCsvParallel_smallFile_matchesLineParser() throws IOException {
+        Files.write(testCsvFile, Arrays.asList(
+                "1001,Wireless Mouse,Electronics|Accessories,29.99",
+                "1002,\"Apple iPhone 14, 128GB\",Smartphones|Electronics,999.99",
+                "1003,Gadget",
+                "1005,\"Sony 65\"\" OLED TV, Smart\",Electronics|Home Entertainment|TVs,1899.99"
+        ));
+
+        List<Product> products = CsvParser.parseCsvParallel(testCsvFile.toString());
+
+        assertEquals(3, products.size());
+        assertEquals("Sony 65\" OLED TV, Smart", products.get(2).getName());
+    }
+
     // ========== parseLine Tests ==========
 
     @Test
@@ -275,6 +477,25 @@ class CsvParserTest {
         assertTrue(exception.getMessage().contains("cannot be empty"));
     }
 
+    @Test
+    void parseProductId_bytes_matchesStringParser() {
+        for (String field : new String[]{"1001", "  001  ", "\"P001\"", "ABC123XYZ", "2147483647"}) {
+            byte[] buf = ("," + field + ",").getBytes(StandardCharsets.US_ASCII);
+            assertEquals(CsvParser.parseProductId(field), CsvParser.parseProductId(buf, 1, buf.length - 1), field);
+        }
+    }
+
+    @Test
+    void parseProductId_bytes_emptyOrOverflow_throwsException() {
+        byte[] blank = "   ".getBytes(StandardCharsets.US_ASCII);
+        byte[] overflow = "99999999999".getBytes(StandardCharsets.US_ASCII);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CsvParser.parseProductId(blank, 0, blank.length));
+        assertTrue(exception.getMessage().contains("cannot be empty"));
+        assertThrows(IllegalArgumentException.class, () -> CsvParser.parseProductId(overflow, 0, overflow.length));
+    }
+
     // ========== parseProductName Tests ==========
 
     @Test
@@ -363,6 +584,16 @@ class CsvParserTest {
         assertEquals("Electronics", result);
     }
 
+    @Test
+    void parseCategoryIds_resolvesEachCategory() {
+        int[] ids = CsvParser.parseCategoryIds("\"Electronics|Home|Tech\"");
+
+        assertEquals(3, ids.length);
+        assertEquals("Electronics", CategoryDictionary.name(ids[0]));
+        assertEquals("Tech", CategoryDictionary.name(ids[2]));
+        assertArrayEquals(ids, CsvParser.parseCategoryIds("Electronics|Home|Tech"));
+    }
+
     // ========== parsePrice Tests ==========
 
     @Test
@@ -441,6 +672,39 @@ class CsvParserTest {
         assertTrue(exception.getMessage().contains("Invalid price format"));
     }
 
+    @Test
+    void parsePrice_bytes_bitIdenticalToDoubleParseDouble() {
+        String[] fields = {"1899.99", "29.99", "0.00", "50", "19.999", ".5", "7.", "+3.10",
+                "0.1", "9007199254740993", "123456789.123456789", "0.30000000000000004", " \"39.99\" "};
+        for (String field : fields) {
+            byte[] buf = field.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.doubleToRawLongBits(CsvParser.parsePrice(field)),
+                    Double.doubleToRawLongBits(CsvParser.parsePrice(buf, 0, buf.length)), field);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String field = random.nextInt(1000000) + "." + random.nextInt(100000);
+            byte[] buf = field.getBytes(StandardCharsets.US_ASCII);
+            assertEquals(Double.parseDouble(field), CsvParser.parsePrice(buf, 0, buf.length), field);
+        }
+    }
+
+    @Test
+    void parsePrice_bytes_invalidInput_throwsException() {
+        byte[] letters = "29.99abc".getBytes(StandardCharsets.US_ASCII);
+        byte[] negative = "-10.00".getBytes(StandardCharsets.US_ASCII);
+        byte[] empty = new byte[0];
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> CsvParser.parsePrice(letters, 0, letters.length));
+        assertTrue(exception.getMessage().contains("Invalid price format"));
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> CsvParser.parsePrice(negative, 0, negative.length));
+        assertTrue(exception.getMessage().contains("cannot be negative"));
+        assertThrows(IllegalArgumentException.class, () -> CsvParser.parsePrice(empty, 0, 0));
+    }
+
     // ========== Integration Tests ==========
 
     @Test
@@ -0,0 +1,140 @@
+import com.student_work.BPlusTree;
+import com.student_work.FrozenProductIndex;
+import com.student_work.Product;
+import com.student_work.ProductIndex;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the frozen Eytzinger-ordered product index.
+ */
+class FrozenProductIndexTest {
+
+    @Test
+    @DisplayName("Freezing an empty tree gives an empty index")
+    void emptyIndex() {
+        FrozenProductIndex frozen = new RedBlackTree().freeze();
+
+        assertTrue(frozen.isEmpty());
+        assertEquals(0, frozen.size());
+        assertEquals(0, frozen.height());
+        assertNull(frozen.search(0));
+        assertFalse(frozen.iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> frozen.iterator().next());
+    }
+
+    @Test
+    @DisplayName("Every size up to 300 finds all present ids and none of the gaps")
+    void allSizes_findPresentAndMissingIds() {
+        for (int n = 1; n <= 300; n++) {
+            RedBlackTree tree = new RedBlackTree();
+            for (int i = 0; i < n; i++) {
+                tree.insert(new Product(i * 2, "Product" + i, "Cat", 1.0));
+            }
+            FrozenProductIndex frozen = tree.freeze();
+
+            assertEquals(n, frozen.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(i * 2, frozen.search(i * 2).getId(), "n=" + n);
+                assertNull(frozen.search(i * 2 + 1), "n=" + n);
+            }
+            assertNull(frozen.search(-1));
+
+            int expected = 0;
+            for (Product product : frozen) {
+                assertEquals(expected, product.getId(), "n=" + n);
+                expected += 2;
+            }
+            assertEquals(n * 2, expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Random ids, including the int extremes, match a TreeMap")
+    void randomIds_matchTreeMap() {
+        Random random = new Random(25);
+        RedBlackTree tree = new RedBlackTree();
+        TreeMap<Integer, Product> expected = new TreeMap<>();
+        int[] extremes = {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1};
+        for (int id : extremes) {
+            Product product = new Product(id, "Edge", "Cat", 1.0);
+            tree.insert(product);
+            expected.put(id, product);
+        }
+        for (int i = 0; i < 20000; i++) {
+            Product product = new Product(random.nextInt(), "Product" + i, "Cat", 1.0);
+            tree.upsert(product);
+            expected.put(product.getId(), product);
+        }
+        FrozenProductIndex frozen = tree.freeze();
+
+        assertEquals(expected.size(), frozen.size());
+        for (Product product : expected.values()) {
+            assertSame(product, frozen.search(product.getId()));
+        }
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt();
+            assertSame(expected.get(id), frozen.search(id));
+        }
+        Iterator<Product> iterator = frozen.iterator();
+        for (Product product : expected.values()) {
+            assertSame(product, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    @DisplayName("Height is the depth of a complete binary tree")
+    void height_isLogarithmic() {
+        RedBlackTree tree = new RedBlackTree();
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", 1.0));
+        }
+
+        assertEquals(10, tree.freeze().height());
+    }
+
+    @Test
+    @DisplayName("Frozen index is a read-only copy of the tree")
+    void frozenIndex_isReadOnlyCopy() {
+        RedBlackTree tree = new RedBlackTree();
+        tree.insert(new Product(1, "One", "Cat", 1.0));
+        FrozenProductIndex frozen = tree.freeze();
+        tree.insert(new Product(2, "Two", "Cat", 2.0));
+        tree.delete(1);
+
+        assertEquals(1, frozen.size());
+        assertEquals("One", frozen.search(1).getName());
+        assertNull(frozen.search(2));
+        assertFalse(ProductIndex.class.isAssignableFrom(FrozenProductIndex.class), "No update operations");
+    }
+
+    @Test
+    @DisplayName("A B+-tree freezes to the same layout as the LLRB")
+    void bPlusTree_freezesToSameContents() {
+        RedBlackTree llrb = new RedBlackTree();
+        BPlusTree bTree = new BPlusTree();
+        for (int i = 0; i < 5000; i++) {
+            Product product = new Product(i * 7, "Product" + i, "Cat", 1.0);
+            llrb.insert(product);
+            bTree.insert(product);
+        }
+        FrozenProductIndex a = llrb.freeze();
+        FrozenProductIndex b = bTree.freeze();
+
+        Iterator<Product> other = b.iterator();
+        for (Product product : a) {
+            assertSame(product, other.next());
+        }
+        assertFalse(other.hasNext());
+        assertSame(a.search(700), b.search(700));
+    }
+}
@@ -0,0 +1,109 @@
+import com.student_work.NameIndex;
+import com.student_work.Product;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the product-name prefix and substring index.
+ */
+class NameIndexTest {
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static NameIndex sample() {
+        RedBlackTree tree = new RedBlackTree();
+        tree.insert(new Product(1, "Apple iPhone 14, 128GB", "Smartphones", 999.99));
+        tree.insert(new Product(2, "Sony 65\" OLED TV, Smart", "TVs", 1899.99));
+        tree.insert(new Product(3, "Book: \"The Art of War\"", "Books", 14.99));
+        tree.insert(new Product(4, "LG OLED Monitor", "Monitors", 799.99));
+        tree.insert(new Product(5, "iPhone Case", "Accessories", 19.99));
+        tree.insert(new Product(6, "", "Misc", 1.00));
+        return NameIndex.of(tree);
+    }
+
+    @Test
+    @DisplayName("Substring search is case-insensitive and ignores quotes")
+    void substringSearch_matchesAnywhereInName() {
+        NameIndex index = sample();
+
+        assertEquals(List.of(2, 4), ids(index.substringSearch("oled", 10)));
+        assertEquals(List.of(1, 5), ids(index.substringSearch("IPHONE", 10)));
+        assertEquals(List.of(3), ids(index.substringSearch("the art of war", 10)));
+        assertEquals(List.of(3), ids(index.substringSearch("\"The Art", 10)));
+        assertEquals(List.of(2), ids(index.substringSearch("65\"", 10)));
+        assertEquals(List.of(), ids(index.substringSearch("blender", 10)));
+        assertEquals(List.of(), ids(index.substringSearch("", 10)));
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    @DisplayName("Products repeating the query are returned once and limit is respected")
+    void substringSearch_distinctAndLimited() {
+        NameIndex index = sample();
+
+        // "o" occurs several times in several names
+        List<Product> all = index.substringSearch("o", 100);
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(all));
+        assertEquals(2, index.substringSearch("o", 2).size());
+        assertEquals(2, index.countContaining("phone"));
+    }
+
+    @Test
+    @DisplayName("Prefix search autocompletes names alphabetically")
+    void prefixSearch_alphabetical() {
+        NameIndex index = sample();
+
+        List<Product> results = index.prefixSearch("i", 10);
+        assertEquals(List.of(5), results.stream().map(Product::getId).collect(Collectors.toList()));
+        assertEquals(List.of(3), ids(index.prefixSearch("book: the", 10)));
+        assertEquals(List.of(), ids(index.prefixSearch("oled", 10)));
+        assertEquals(List.of(6, 1, 3), index.prefixSearch("", 3).stream()
+                .map(Product::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Random names match a brute-force scan")
+    void randomNames_matchBruteForce() {
+        Random random = new Random(20);
+        RedBlackTree tree = new RedBlackTree();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int c = 0; c < length; c++) {
+                name.append("abAB \"".charAt(random.nextInt(6)));
+            }
+            Product product = new Product(i, name.toString(), "Cat", 1.0);
+            tree.insert(product);
+            products.add(product);
+        }
+        NameIndex index = NameIndex.of(tree);
+
+        for (int trial = 0; trial < 100; trial++) {
+            String query = trial % 2 == 0 ? "ab" : "ba a".substring(0, 1 + random.nextInt(4));
+            String normalized = query.toLowerCase(Locale.ROOT);
+            List<Integer> contains = products.stream()
+                    .filter(p -> p.getName().toLowerCase(Locale.ROOT).replace("\"", "").contains(normalized))
+                    .map(Product::getId)
+                    .collect(Collectors.toList());
+            List<Integer> startsWith = products.stream()
+                    .filter(p -> p.getName().toLowerCase(Locale.ROOT).replace("\"", "").startsWith(normalized))
+                    .map(Product::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(contains, ids(index.substringSearch(query, Integer.MAX_VALUE)), query);
+            assertEquals(startsWith, ids(index.prefixSearch(query, Integer.MAX_VALUE)), query);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import com.student_work.PriceIndex;
+import com.student_work.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the secondary price index.
+ */
+class PriceIndexTest {
+
+    private static List<Integer> ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.toList());
+    }
+
+    private static PriceIndex sample() {
+        PriceIndex index = new PriceIndex();
+        index.insert(new Product(1, "Headset", "PxGaming|PxAudio", 49.99));
+        index.insert(new Product(2, "Mouse", "PxGaming", 19.99));
+        index.insert(new Product(3, "Speaker", "PxAudio", 49.99));
+        index.insert(new Product(4, "Console", "PxGaming", 499.00));
+        index.insert(new Product(5, "Cable", "PxAccessories", 4.99));
+        return index;
+    }
+
+    @Test
+    @DisplayName("priceRange returns products cheapest first with ties by id")
+    void priceRange_sortedByPriceThenId() {
+        PriceIndex index = sample();
+
+        assertEquals(List.of(2, 1, 3), ids(index.priceRange(10.0, 50.0)));
+        assertEquals(List.of(1, 3), ids(index.priceRange(49.99, 49.99)));
+        assertEquals(List.of(), ids(index.priceRange(50.0, 10.0)));
+        assertEquals(5, index.size());
+        assertTrue(index.validate());
+    }
+
+    @Test
+    @DisplayName("priceRange with a category answers 'under $50 in Gaming'")
+    void priceRange_withCategory() {
+        PriceIndex index = sample();
+
+        assertEquals(List.of(2, 1), ids(index.priceRange(0.0, 50.0, "PxGaming")));
+        assertEquals(List.of(), ids(index.priceRange(0.0, 50.0, "PxNeverSeen")));
+    }
+
+    @Test
+    @DisplayName("topK queries return the cheapest and most expensive products")
+    void topK() {
+        PriceIndex index = sample();
+
+        assertEquals(List.of(5, 2, 1), ids(index.topKCheapest(3)));
+        assertEquals(List.of(4, 3, 1), ids(index.topKMostExpensive(3)));
+        assertEquals(5, index.topKCheapest(10).size());
+        assertEquals(List.of(), ids(index.topKMostExpensive(0)));
+    }
+
+    @Test
+    @DisplayName("A price update is a remove of the old entry then an insert")
+    void remove_thenReinsertWithNewPrice() {
+        PriceIndex index = sample();
+        Product old = new Product(4, "Console", "PxGaming", 499.00);
+
+        assertTrue(index.remove(old));
+        assertFalse(index.remove(old));
+        index.insert(new Product(4, "Console", "PxGaming", 1.00));
+
+        assertEquals(List.of(4, 5), ids(index.topKCheapest(2)));
+        assertEquals(5, index.size());
+        assertTrue(index.validate());
+    }
+
+    @Test
+    @DisplayName("Random inserts and removes keep order and balance")
+    void randomInsertAndRemove_matchesSortedList() {
+        Random random = new Random(19);
+        PriceIndex index = new PriceIndex();
+        List<Product> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Product product = new Product(i, "P" + i, "Cat", random.nextInt(200) / 4.0);
+            index.insert(product);
+            expected.add(product);
+            if (random.nextInt(3) == 0) {
+                Product victim = expected.remove(random.nextInt(expected.size()));
+                assertTrue(index.remove(victim));
+            }
+        }
+        expected.sort(Comparator.comparingDouble(Product::getPrice).thenComparingInt(Product::getId));
+
+        assertTrue(index.validate());
+        assertEquals(expected.size(), index.size());
+        assertEquals(ids(expected), ids(index.topKCheapest(expected.size())));
+        assertEquals(ids(expected.subList(0, 10)), ids(index.topKCheapest(10)));
+
+        List<Product> inRange = expected.stream()
+                .filter(p -> p.getPrice() >= 10.0 && p.getPrice() <= 20.0)
+                .collect(Collectors.toList());
+        assertEquals(ids(inRange), ids(index.priceRange(10.0, 20.0)));
+    }
+}
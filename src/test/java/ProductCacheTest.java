@@ -0,0 +1,159 @@
+import com.student_work.Product;
+import com.student_work.ProductCache;
+import com.student_work.RedBlackTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the search cache in front of RedBlackTree.
+ */
+class ProductCacheTest {
+
+    private RedBlackTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new RedBlackTree();
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+    }
+
+    @Test
+    @DisplayName("Repeated lookups are served from the cache, including misses")
+    void hitsAndMisses_areCounted() {
+        ProductCache cache = new ProductCache(10, ProductCache.Policy.LRU);
+        tree.setCache(cache);
+
+        assertEquals("Product5", tree.search(5).getName());
+        assertEquals("Product5", tree.search(5).getName());
+        assertNull(tree.search(9999));
+        assertNull(tree.search(9999));
+
+        assertEquals(2, cache.hits());
+        assertEquals(2, cache.misses());
+        assertEquals(0.5, cache.hitRate());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Insert, upsert and delete invalidate cached results")
+    void updates_invalidateEntries() {
+        tree.setCache(new ProductCache(10));
+
+        assertNull(tree.search(9999));
+        tree.insert(new Product(9999, "Late arrival", "Cat", 1.0));
+        assertEquals("Late arrival", tree.search(9999).getName());
+
+        assertEquals("Product7", tree.search(7).getName());
+        tree.upsert(new Product(7, "Renamed", "Cat", 7.0));
+        assertEquals("Renamed", tree.search(7).getName());
+        tree.insert(new Product(7, "Renamed again", "Cat", 7.0));
+        assertEquals("Renamed again", tree.search(7).getName());
+
+        tree.delete(7);
+        assertNull(tree.search(7));
+
+        assertEquals(1, tree.search(1).getId());
+        tree.deleteMin();
+        assertNull(tree.search(1));
+
+        assertEquals(9999, tree.search(9999).getId());
+        tree.deleteMax();
+        assertNull(tree.search(9999));
+    }
+
+    @Test
+    @DisplayName("LRU evicts the least recently used entry")
+    void lru_evictsLeastRecentlyUsed() {
+        ProductCache cache = new ProductCache(2, ProductCache.Policy.LRU);
+        tree.setCache(cache);
+
+        tree.search(1);
+        tree.search(2);
+        tree.search(1);
+        tree.search(3);    // Evicts 2
+        long misses = cache.misses();
+        tree.search(1);
+        assertEquals(misses, cache.misses(), "1 was recently used and stays cached");
+        tree.search(2);
+        assertEquals(misses + 1, cache.misses(), "2 was evicted");
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("TinyLFU keeps the hot set through a scan of one-off ids")
+    void tinyLfu_resistsScans() {
+        ProductCache cache = new ProductCache(10, ProductCache.Policy.TINY_LFU);
+        tree.setCache(cache);
+
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 10; id++) {
+                tree.search(id);
+            }
+        }
+        for (int id = 1000; id < 1100; id++) {
+            tree.search(id);
+        }
+
+        long hits = cache.hits();
+        for (int id = 1; id <= 10; id++) {
+            assertEquals(id, tree.search(id).getId());
+        }
+        assertEquals(hits + 10, cache.hits(), "The hot ids survived the scan");
+    }
+
+    @Test
+    @DisplayName("TinyLFU does not credit one-off ids with the traffic of adjacent hot ids")
+    void tinyLfu_adjacentIdsHaveIndependentCounters() {
+        ProductCache cache = new ProductCache(10, ProductCache.Policy.TINY_LFU);
+        tree.setCache(cache);
+
+        for (int round = 0; round < 3; round++) {
+            for (int id = 10; id <= 100; id += 10) {
+                tree.search(id);
+            }
+        }
+        // Catalog ids are consecutive; each of these is looked up once, right below hot id 100
+        for (int id = 96; id <= 99; id++) {
+            tree.search(id);
+        }
+
+        long hits = cache.hits();
+        for (int id = 10; id <= 100; id += 10) {
+            assertEquals(id, tree.search(id).getId());
+        }
+        assertEquals(hits + 10, cache.hits(), "No hot id was evicted for a one-off neighbour");
+    }
+
+    @Test
+    @DisplayName("Removing the cache restores plain searches")
+    void setCache_nullDisablesCaching() {
+        ProductCache cache = new ProductCache(10);
+        tree.setCache(cache);
+        tree.search(1);
+        tree.setCache(null);
+
+        assertNull(tree.getCache());
+        assertEquals(1, tree.search(1).getId());
+        assertEquals(1, cache.misses());
+        assertThrows(IllegalArgumentException.class, () -> new ProductCache(0));
+    }
+
+    @Test
+    @DisplayName("Order-statistics queries bypass the cache")
+    void countInRange_doesNotTouchCache() {
+        ProductCache cache = new ProductCache(10, ProductCache.Policy.LRU);
+        tree.setCache(cache);
+
+        assertEquals(11, tree.countInRange(10, 20));
+        assertEquals(1, tree.countInRange(100, 200));
+
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+        assertEquals(0, cache.size());
+    }
+}
@@ -1,3 +1,4 @@
+import com.student_work.CategoryDictionary;
 import com.student_work.Product;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -290,4 +291,39 @@ class ProductTest {
         assertEquals(9, product.getCategory().chars().filter(ch -> ch == '|').count(),
                 "Should have 9 pipe separators for 10 categories");
     }
-}
\ No newline at end of file
+
+    /**
+     * Categories are interned: getCategory() must still return the original string.
+     */
+    @Test
+    void category_internedIds_roundTripToSameString() {
+        Product product = new Product(PRODUCT_ID_5, PRODUCT_NAME_5, CATEGORY_5, PRICE_5);
+
+        assertEquals(CATEGORY_5, product.getCategory());
+        assertEquals(3, product.getCategoryIds().length);
+        assertEquals("Home Entertainment", CategoryDictionary.name(product.getCategoryIds()[1]));
+    }
+
+    /**
+     * Products sharing a category resolve it to the same id.
+     */
+    @Test
+    void category_sharedCategory_sameId() {
+        Product product1 = new Product(PRODUCT_ID_1, PRODUCT_NAME_1, CATEGORY_1, PRICE_1);
+        Product product2 = new Product(PRODUCT_ID_2, PRODUCT_NAME_2, CATEGORY_2, PRICE_2);
+        int electronics = CategoryDictionary.lookup("Electronics");
+
+        assertTrue(product1.hasCategory(electronics));
+        assertTrue(product2.hasCategory(electronics));
+        assertFalse(product1.hasCategory(CategoryDictionary.lookup("Smartphones")));
+    }
+
+    /**
+     * Empty and oddly split category strings survive interning unchanged.
+     */
+    @Test
+    void category_emptySegments_preserved() {
+        assertEquals("", new Product(1, "A", "", 1.0).getCategory());
+        assertEquals("Tools||Outdoor|", new Product(2, "B", "Tools||Outdoor|", 1.0).getCategory());
+    }
+}
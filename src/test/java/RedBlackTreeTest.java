@@ -4,9 +4,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +41,9 @@ class RedBlackTreeTest {
     private PrintStream originalOut;
     private PrintStream originalErr;
 
+    @TempDir
+    Path tempDir;
+
     @BeforeEach
     void setUp() {
         tree = new RedBlackTree();
@@ -585,6 +601,511 @@ class RedBlackTreeTest {
         }
     }
 
+    @Test
+    @DisplayName("Random inserts with duplicates keep the tree valid and searchable")
+    void stressTest_randomInsertsWithDuplicates() {
+        Random random = new Random(7);
+        Set<Integer> inserted = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(15000) - 5000;
+            tree.insert(new Product(id, "Product" + id, "Cat", 1.0));
+            inserted.add(id);
+        }
+
+        assertTreeValid(tree, "After 20000 random inserts");
+        assert23TreeValid(tree, "After 20000 random inserts");
+        assertSizeEquals(inserted.size(), tree, "After 20000 random inserts");
+        for (int id = -5001; id <= 10000; id++) {
+            assertEquals(inserted.contains(id), tree.search(id) != null, "Search for " + id);
+        }
+    }
+
+    // ==================== ORDERED QUERY TESTS ====================
+
+    @Test
+    @DisplayName("rangeSearch returns the inclusive range in id order")
+    void rangeSearch_returnsInclusiveRangeInOrder() {
+        for (int id : new int[]{50, 10, 40, 20, 30, 60, 70}) {
+            tree.insert(new Product(id, "Product" + id, "Cat", id));
+        }
+
+        assertEquals(Arrays.asList(20, 30, 40), ids(tree.rangeSearch(20, 40)));
+        assertEquals(Arrays.asList(20, 30, 40), ids(tree.rangeSearch(15, 45)));
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70),
+                ids(tree.rangeSearch(Integer.MIN_VALUE, Integer.MAX_VALUE)));
+        assertTrue(tree.rangeSearch(41, 49).isEmpty());
+        assertTrue(tree.rangeSearch(40, 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("floor, ceiling, min and max find the nearest ids")
+    void floorCeilingMinMax() {
+        assertNull(tree.min());
+        assertNull(tree.floor(5));
+        for (int id : new int[]{50, 10, 40, 20, 30}) {
+            tree.insert(new Product(id, "Product" + id, "Cat", id));
+        }
+
+        assertEquals(10, tree.min().getId());
+        assertEquals(50, tree.max().getId());
+        assertEquals(30, tree.floor(35).getId());
+        assertEquals(30, tree.floor(30).getId());
+        assertNull(tree.floor(9));
+        assertEquals(40, tree.ceiling(35).getId());
+        assertEquals(10, tree.ceiling(Integer.MIN_VALUE).getId());
+        assertNull(tree.ceiling(51));
+    }
+
+    @Test
+    @DisplayName("Iteration visits every product in id order")
+    void iterator_visitsInOrder() {
+        Random random = new Random(3);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int id = random.nextInt(100000);
+            if (tree.search(id) == null) {
+                expected.add(id);
+            }
+            tree.insert(new Product(id, "Product" + id, "Cat", id));
+        }
+        expected.sort(null);
+
+        List<Integer> actual = new ArrayList<>();
+        for (Product product : tree) {
+            actual.add(product.getId());
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), StreamSupport.stream(tree.spliterator(), false).count());
+    }
+
+    @Test
+    @DisplayName("iteratorFrom starts a paginated scan at the first id >= fromId")
+    void iteratorFrom_startsAtCeiling() {
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(new Product(i * 10, "Product" + i, "Cat", i));
+        }
+
+        Iterator<Product> page = tree.iteratorFrom(255);
+        List<Integer> firstThree = new ArrayList<>();
+        for (int i = 0; i < 3 && page.hasNext(); i++) {
+            firstThree.add(page.next().getId());
+        }
+
+        assertEquals(Arrays.asList(260, 270, 280), firstThree);
+        assertFalse(tree.iteratorFrom(1001).hasNext());
+    }
+
+    private static List<Integer> ids(List<Product> products) {
+        List<Integer> ids = new ArrayList<>();
+        for (Product product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    // ==================== ORDER STATISTIC TESTS ====================
+
+    @Test
+    @DisplayName("rank and select are inverses over random inserts")
+    void rankAndSelect_areInverses() {
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            int id = random.nextInt(10000);
+            tree.insert(new Product(id, "Product" + id, "Cat", id));
+        }
+        assertTreeValid(tree, "After random inserts with subtree sizes");
+
+        int previous = Integer.MIN_VALUE;
+        for (int k = 0; k < tree.size(); k++) {
+            Product product = tree.select(k);
+            assertTrue(product.getId() > previous, "select must be increasing");
+            assertEquals(k, tree.rank(product.getId()));
+            previous = product.getId();
+        }
+        assertThrows(IllegalArgumentException.class, () -> tree.select(tree.size()));
+        assertThrows(IllegalArgumentException.class, () -> tree.select(-1));
+    }
+
+    @Test
+    @DisplayName("rank and countInRange handle ids not in the tree")
+    void rankAndCountInRange_missingIds() {
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(new Product(i * 10, "Product" + i, "Cat", i));
+        }
+
+        assertEquals(0, tree.rank(5));
+        assertEquals(5, tree.rank(55));
+        assertEquals(100, tree.rank(5000));
+        assertEquals(3, tree.countInRange(100, 120));
+        assertEquals(2, tree.countInRange(101, 125));
+        assertEquals(100, tree.countInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(0, tree.countInRange(120, 100));
+    }
+
+    @Test
+    @DisplayName("Bulk-loaded trees carry correct subtree sizes")
+    void rankAndSelect_onBulkLoadedTree() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            products.add(new Product(i, "Product" + i, "Cat", i));
+        }
+        RedBlackTree bulk = RedBlackTree.fromSorted(products);
+
+        assertTreeValid(bulk, "Bulk-loaded tree with subtree sizes");
+        assertEquals(500, bulk.select(500).getId());
+        assertEquals(750, bulk.rank(750));
+    }
+
+    // ==================== DELETE AND UPSERT TESTS ====================
+
+    @Test
+    @DisplayName("Random deletes keep the tree valid and consistent")
+    void delete_randomOrder_keepsTreeValid() {
+        Random random = new Random(9);
+        Set<Integer> present = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int id = random.nextInt(3000);
+            tree.insert(new Product(id, "Product" + id, "Cat", id));
+            present.add(id);
+        }
+
+        for (int i = 0; i < 3000; i++) {
+            int id = random.nextInt(3000);
+            Product removed = tree.delete(id);
+            assertEquals(present.remove(id), removed != null, "delete(" + id + ")");
+            assertNull(tree.search(id));
+            if (i % 100 == 0) {
+                assertTreeValid(tree, "After deleting " + id);
+                assert23TreeValid(tree, "After deleting " + id);
+            }
+        }
+        assertTreeValid(tree, "After random deletes");
+        assertSizeEquals(present.size(), tree, "After random deletes");
+        for (int id : present) {
+            assertProductFound(id, tree, "Surviving product " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Deleting every product empties the tree")
+    void delete_allProducts_emptiesTree() {
+        for (int i = 1; i <= 64; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+        for (int i = 64; i >= 1; i--) {
+            assertEquals(i, tree.delete(i).getId());
+            assertTreeValid(tree, "After deleting " + i);
+        }
+
+        assertTrue(tree.isEmpty());
+        assertNull(tree.delete(1));
+    }
+
+    @Test
+    @DisplayName("deleteMin and deleteMax remove the extremes")
+    void deleteMinAndMax() {
+        for (int i = 1; i <= 100; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+
+        assertEquals(1, tree.deleteMin().getId());
+        assertEquals(100, tree.deleteMax().getId());
+        assertEquals(2, tree.min().getId());
+        assertEquals(99, tree.max().getId());
+        assertTreeValid(tree, "After deleteMin and deleteMax");
+        assertSizeEquals(98, tree, "After deleteMin and deleteMax");
+
+        RedBlackTree empty = new RedBlackTree();
+        assertThrows(NoSuchElementException.class, empty::deleteMin);
+        assertThrows(NoSuchElementException.class, empty::deleteMax);
+    }
+
+    @Test
+    @DisplayName("upsert replaces in place and returns the previous product")
+    void upsert_replacesExistingProduct() {
+        for (int i = 1; i <= 10; i++) {
+            tree.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+        int height = tree.height();
+        int redLinks = tree.countRedLinks();
+
+        Product previous = tree.upsert(new Product(5, "Product5", "Cat", 4.99));
+
+        assertEquals(5.0, previous.getPrice());
+        assertEquals(4.99, tree.search(5).getPrice());
+        assertEquals(height, tree.height());
+        assertEquals(redLinks, tree.countRedLinks());
+        assertNull(tree.upsert(new Product(11, "Product11", "Cat", 11)));
+        assertSizeEquals(11, tree, "After upserts");
+    }
+
+    // ==================== BULK LOAD TESTS ====================
+
+    @Test
+    @DisplayName("fromSorted builds a valid LLRB tree at every size")
+    void bulkLoad_fromSorted_validAtAllSizes() {
+        for (int n = 0; n <= 700; n++) {
+            List<Product> products = new ArrayList<>();
+            for (int i = 1; i <= n; i++) {
+                products.add(new Product(i * 2, "Product" + i, "Cat", 10.0 * i));
+            }
+
+            RedBlackTree bulk = RedBlackTree.fromSorted(products);
+
+            assertTreeValid(bulk, "Bulk-loaded tree of size " + n);
+            assert23TreeValid(bulk, "Bulk-loaded tree of size " + n);
+            assertSizeEquals(n, bulk, "Bulk-loaded tree of size " + n);
+            int maxHeight = (int) (2 * Math.log(n + 1) / Math.log(2)) + 1;
+            assertHeightInBounds(bulk, maxHeight, n + " node bulk-loaded tree");
+            for (int i = 1; i <= n; i++) {
+                assertProductFound(i * 2, bulk, "Bulk-loaded product " + (i * 2));
+                assertProductNotFound(i * 2 - 1, bulk, "Gap between bulk-loaded products");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("fromSorted tree keeps accepting inserts")
+    void bulkLoad_fromSorted_thenInsert() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i += 2) {
+            products.add(new Product(i, "Product" + i, "Cat", 10.0));
+        }
+        RedBlackTree bulk = RedBlackTree.fromSorted(products);
+
+        for (int i = 1; i < 100; i += 2) {
+            bulk.insert(new Product(i, "Product" + i, "Cat", 10.0));
+            assertTreeValid(bulk, "Bulk-loaded tree after inserting " + i);
+        }
+        assertSizeEquals(100, bulk, "Bulk-loaded tree after inserts");
+    }
+
+    @Test
+    @DisplayName("fromSorted rejects unsorted or duplicate ids")
+    void bulkLoad_fromSorted_rejectsUnsortedInput() {
+        List<Product> unsorted = Arrays.asList(
+                new Product(2, "B", "Cat", 1.0), new Product(1, "A", "Cat", 1.0));
+        List<Product> duplicates = Arrays.asList(
+                new Product(1, "A", "Cat", 1.0), new Product(1, "B", "Cat", 1.0));
+
+        assertThrows(IllegalArgumentException.class, () -> RedBlackTree.fromSorted(unsorted));
+        assertThrows(IllegalArgumentException.class, () -> RedBlackTree.fromSorted(duplicates));
+    }
+
+    @Test
+    @DisplayName("fromProducts sorts input and keeps the last duplicate")
+    void bulkLoad_fromProducts_sortsAndDeduplicates() {
+        RedBlackTree bulk = RedBlackTree.fromProducts(Arrays.asList(
+                new Product(5, "Five", "Cat", 5.0),
+                new Product(1, "One", "Cat", 1.0),
+                new Product(5, "Five v2", "Cat", 5.5),
+                new Product(3, "Three", "Cat", 3.0)));
+
+        assertTreeValid(bulk, "fromProducts tree");
+        assertSizeEquals(3, bulk, "fromProducts tree");
+        assertEquals("Five v2", bulk.search(5).getName());
+    }
+
+    // ==================== SNAPSHOT TESTS ====================
+
+    @Test
+    @DisplayName("Snapshot round trip restores every product field")
+    void snapshot_roundTrip_restoresProducts() throws IOException {
+        RedBlackTree original = new RedBlackTree();
+        original.insert(new Product(42, "Caf\u00e9 \"Cr\u00e8me\", 1kg", "Grocery|Coffee", 12.49));
+        original.insert(new Product(7, "Sony 65\" OLED TV", "Electronics|TVs|OLED", 1999.99));
+        for (int i = 100; i < 600; i++) {
+            original.insert(new Product(i, "Product" + i, "Cat" + (i % 7), i * 0.01));
+        }
+
+        Path snapshot = tempDir.resolve("products.snapshot");
+        original.writeSnapshot(snapshot);
+        RedBlackTree loaded = RedBlackTree.loadSnapshot(snapshot);
+
+        assertTreeValid(loaded, "Tree loaded from snapshot");
+        assertSizeEquals(original.size(), loaded, "Tree loaded from snapshot");
+        Iterator<Product> expected = original.iterator();
+        for (Product product : loaded) {
+            Product source = expected.next();
+            assertEquals(source.getId(), product.getId());
+            assertEquals(source.getName(), product.getName());
+            assertEquals(source.getCategory(), product.getCategory());
+            assertEquals(source.getPrice(), product.getPrice());
+        }
+        assertFalse(expected.hasNext());
+    }
+
+    @Test
+    @DisplayName("Snapshot of an empty tree loads as an empty tree")
+    void snapshot_emptyTree() throws IOException {
+        Path snapshot = tempDir.resolve("empty.snapshot");
+        new RedBlackTree().writeSnapshot(snapshot);
+
+        assertTrue(RedBlackTree.loadSnapshot(snapshot).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Corrupted or foreign snapshot files are rejected")
+    void snapshot_rejectsCorruptFiles() throws IOException {
+        RedBlackTree original = new RedBlackTree();
+        for (int i = 1; i <= 50; i++) {
+            original.insert(new Product(i, "Product" + i, "Cat", 10.0 * i));
+        }
+        Path snapshot = tempDir.resolve("products.snapshot");
+        original.writeSnapshot(snapshot);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x01;
+        Path flipped = tempDir.resolve("flipped.snapshot");
+        Files.write(flipped, bytes);
+        IOException checksum = assertThrows(IOException.class, () -> RedBlackTree.loadSnapshot(flipped));
+        assertTrue(checksum.getMessage().contains("checksum"));
+
+        Path csv = tempDir.resolve("products.csv");
+        Files.write(csv, Arrays.asList("1,Widget,Tools,9.99"));
+        assertThrows(IOException.class, () -> RedBlackTree.loadSnapshot(csv));
+    }
+
+    // ==================== BATCH SEARCH TESTS ====================
+
+    @Test
+    @DisplayName("searchAll returns products in request order with null for misses")
+    void searchAll_requestOrderWithMisses() {
+        for (int i = 0; i < 100; i += 2) {
+            tree.insert(new Product(i, "Product" + i, "Cat", 10.0));
+        }
+
+        Product[] results = tree.searchAll(new int[]{42, 3, 0, 98, 42, -5, 100});
+
+        assertEquals(7, results.length);
+        assertEquals(42, results[0].getId());
+        assertNull(results[1]);
+        assertEquals(0, results[2].getId());
+        assertEquals(98, results[3].getId());
+        assertEquals(42, results[4].getId(), "Duplicate ids are each answered");
+        assertNull(results[5]);
+        assertNull(results[6]);
+        assertEquals(0, tree.searchAll(new int[0]).length);
+        assertNull(new RedBlackTree().searchAll(new int[]{1})[0]);
+    }
+
+    @Test
+    @DisplayName("searchAll handles extreme ids")
+    void searchAll_extremeIds() {
+        tree.insert(new Product(Integer.MIN_VALUE, "Min", "Cat", 1.0));
+        tree.insert(new Product(Integer.MAX_VALUE, "Max", "Cat", 1.0));
+        tree.insert(new Product(0, "Zero", "Cat", 1.0));
+
+        Product[] results = tree.searchAll(new int[]{Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1});
+
+        assertEquals("Max", results[0].getName());
+        assertEquals("Zero", results[1].getName());
+        assertEquals("Min", results[2].getName());
+        assertNull(results[3]);
+    }
+
+    @Test
+    @DisplayName("searchAll and searchAllParallel agree with single searches")
+    void searchAll_matchesSearch() {
+        Random random = new Random(21);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(100000);
+            tree.insert(new Product(id, "Product" + id, "Cat", 1.0));
+        }
+        int[] queries = new int[50000];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = random.nextInt(100000);
+        }
+
+        Product[] batch = tree.searchAll(queries);
+        Product[] parallel = tree.searchAllParallel(queries);
+
+        for (int i = 0; i < queries.length; i++) {
+            assertSame(tree.search(queries[i]), batch[i], "Batch result for " + queries[i]);
+            assertSame(tree.search(queries[i]), parallel[i], "Parallel result for " + queries[i]);
+        }
+    }
+
+    // ==================== HASH INDEX TESTS ====================
+
+    @Test
+    @DisplayName("Hash index answers searches for products inserted before and after enabling it")
+    void hashIndex_searchBeforeAndAfterEnable() {
+        for (int i = 0; i < 100; i++) {
+            tree.insert(new Product(i * 3, "Product" + i, "Cat", 1.0));
+        }
+        tree.enableHashIndex();
+        assertTrue(tree.hasHashIndex());
+        tree.insert(new Product(1000, "Late", "Cat", 1.0));
+        tree.insert(new Product(Integer.MIN_VALUE, "Min", "Cat", 1.0));
+
+        assertEquals("Product10", tree.search(30).getName());
+        assertEquals("Late", tree.search(1000).getName());
+        assertEquals("Min", tree.search(Integer.MIN_VALUE).getName());
+        assertNull(tree.search(31));
+
+        tree.disableHashIndex();
+        assertFalse(tree.hasHashIndex());
+        assertEquals("Late", tree.search(1000).getName());
+    }
+
+    @Test
+    @DisplayName("Hash index stays in sync through insert, upsert and every delete")
+    void hashIndex_staysInSync() {
+        Random random = new Random(23);
+        RedBlackTree plain = new RedBlackTree();
+        tree.enableHashIndex();
+
+        for (int step = 0; step < 20000; step++) {
+            int id = random.nextInt(3000);
+            Product product = new Product(id, "Product" + step, "Cat", 1.0);
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    tree.insert(product);
+                    plain.insert(product);
+                    break;
+                case 2:
+                    assertSame(plain.upsert(product), tree.upsert(product));
+                    break;
+                case 3:
+                    assertSame(plain.delete(id), tree.delete(id));
+                    break;
+                case 4:
+                    if (!plain.isEmpty()) {
+                        assertSame(plain.deleteMin(), tree.deleteMin());
+                    }
+                    break;
+                default:
+                    if (!plain.isEmpty()) {
+                        assertSame(plain.deleteMax(), tree.deleteMax());
+                    }
+                    break;
+            }
+        }
+
+        for (int id = -1; id <= 3000; id++) {
+            assertSame(plain.search(id), tree.search(id), "Search for " + id);
+        }
+        assertSizeEquals(plain.size(), tree, "Tree with hash index");
+    }
+
+    @Test
+    @DisplayName("Hash index can be enabled on a bulk-loaded tree")
+    void hashIndex_afterBulkLoad() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            products.add(new Product(i * 2, "Product" + i, "Cat", 1.0));
+        }
+        RedBlackTree bulk = RedBlackTree.fromSorted(products);
+        bulk.enableHashIndex();
+
+        for (int i = 0; i < 50000; i++) {
+            assertSame(products.get(i), bulk.search(i * 2));
+            assertNull(bulk.search(i * 2 + 1));
+        }
+    }
+
     // ==================== INTEGRATION TESTS ====================
 
     @Test
@@ -0,0 +1,109 @@
+import com.student_work.CsvParser;
+import com.student_work.Product;
+import com.student_work.ShardedProductIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the sharded product index.
+ */
+class ShardedProductIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Insert, search and size work across shards")
+    void insertAndSearch() {
+        ShardedProductIndex index = new ShardedProductIndex(8);
+        for (int i = 1; i <= 1000; i++) {
+            index.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+        index.insert(new Product(500, "Updated", "Cat", 1.0));
+
+        assertEquals(1000, index.size());
+        assertEquals("Updated", index.search(500).getName());
+        assertNull(index.search(1001));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedProductIndex(0));
+    }
+
+    @Test
+    @DisplayName("Concurrent writers all land and merged iteration is ordered")
+    void concurrentInsert_thenOrderedIteration() throws InterruptedException {
+        ShardedProductIndex index = new ShardedProductIndex(16);
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            int offset = w;
+            writers.add(new Thread(() -> {
+                for (int i = offset; i < 20000; i += 4) {
+                    index.insert(new Product(i, "Product" + i, "Cat", i));
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        index.forEachInOrder(product -> ids.add(product.getId()));
+
+        assertEquals(20000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, (int) ids.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("The in-order action may insert into the same index without deadlocking")
+    void forEachInOrder_actionMayUpdateIndex() throws InterruptedException {
+        ShardedProductIndex index = new ShardedProductIndex(8);
+        for (int i = 0; i < 1000; i++) {
+            index.insert(new Product(i, "Product" + i, "Cat", i));
+        }
+        List<Integer> ids = new ArrayList<>();
+
+        Thread visitor = new Thread(() -> index.forEachInOrder(product -> {
+            ids.add(product.getId());
+            index.insert(new Product(product.getId() + 1000, "Copy", "Cat", 1.0));
+        }));
+        visitor.start();
+        visitor.join(10000);
+
+        assertFalse(visitor.isAlive(), "forEachInOrder deadlocked");
+        assertEquals(1000, ids.size(), "Inserts made by the action are not part of the visit");
+        assertEquals(2000, index.size());
+    }
+
+    @Test
+    @DisplayName("Parallel CSV ingest inserts into all shards at once")
+    void parallelCsvIngest() throws IOException {
+        Path csv = tempDir.resolve("products.csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 50000; i++) {
+            lines.add(i + ",\"Sony " + i + "\"\" OLED TV, Smart\",Electronics|TVs," + i + ".99");
+        }
+        Files.write(csv, lines);
+
+        ShardedProductIndex index = new ShardedProductIndex(8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CsvParser.parseCsvParallel(csv.toString(), pool, index::insert);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(50000, index.size());
+        assertEquals("Sony 777\" OLED TV, Smart", index.search(777).getName());
+    }
+}